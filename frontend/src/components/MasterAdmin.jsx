@@ -4,8 +4,10 @@ import { useTheme, getTheme } from '../hooks/useTheme';
 
 function MasterAdmin({ currentUser }) {
   const [users, setUsers] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);  // ✅ 사용자 목록 다음 페이지
   const [stats, setStats] = useState(null);
   const [partyCompletions, setPartyCompletions] = useState([]);
+  const [partyNextCursor, setPartyNextCursor] = useState(null);  // ✅ 공격대 완료 목록 다음 페이지
   const [showPartyList, setShowPartyList] = useState(false);
   const [loading, setLoading] = useState(true);
   const [syncingUserId, setSyncingUserId] = useState(null);  // ✅ 동기화 중인 사용자
@@ -35,7 +37,8 @@ function MasterAdmin({ currentUser }) {
         masterAPI.getAllUsers(currentUser.id),
         masterAPI.getStats(currentUser.id)
       ]);
-      setUsers(usersRes.data);
+      setUsers(usersRes.data.users);
+      setNextCursor(usersRes.data.nextCursor);
       setStats(statsRes.data);
     } catch (error) {
       alert(error.response?.data || '데이터 로딩 실패');
@@ -44,17 +47,40 @@ function MasterAdmin({ currentUser }) {
     }
   };
 
+  // ✅ 사용자 목록 더 보기
+  const loadMoreUsers = async () => {
+    try {
+      const response = await masterAPI.getAllUsers(currentUser.id, nextCursor);
+      setUsers((prev) => [...prev, ...response.data.users]);
+      setNextCursor(response.data.nextCursor);
+    } catch (error) {
+      alert(error.response?.data || '사용자 목록 로딩 실패');
+    }
+  };
+
   // 공격대 완료 목록 로드
   const loadPartyCompletions = async () => {
     try {
       const response = await masterAPI.getAllPartyCompletions(currentUser.id);
-      setPartyCompletions(response.data);
+      setPartyCompletions(response.data.completions);
+      setPartyNextCursor(response.data.nextCursor);
       setShowPartyList(true);
     } catch (error) {
       alert(error.response?.data || '공격대 목록 로딩 실패');
     }
   };
 
+  // ✅ 공격대 완료 목록 더 보기
+  const loadMorePartyCompletions = async () => {
+    try {
+      const response = await masterAPI.getAllPartyCompletions(currentUser.id, partyNextCursor);
+      setPartyCompletions((prev) => [...prev, ...response.data.completions]);
+      setPartyNextCursor(response.data.nextCursor);
+    } catch (error) {
+      alert(error.response?.data || '공격대 목록 로딩 실패');
+    }
+  };
+
   // ✅ 전체 캐릭터 동기화
   const handleSyncAllCharacters = async (userId, username) => {
     if (!window.confirm(`"${username}" 계정의 모든 캐릭터를 동기화하시겠습니까?`)) {
@@ -110,7 +136,7 @@ function MasterAdmin({ currentUser }) {
   };
 
   const handleResetWeekly = async () => {
-    if (!window.confirm('전체 주간 데이터를 초기화하시겠습니까?\n\n모든 사용자의 완료 기록이 삭제됩니다.')) {
+    if (!window.confirm('전체 주간 데이터를 초기화하시겠습니까?\n\n모든 사용자의 이번 주 완료 기록이 삭제됩니다. (지난 주 기록은 유지)')) {
       return;
     }
 
@@ -246,6 +272,25 @@ function MasterAdmin({ currentUser }) {
             ))
           )}
         </div>
+
+        {partyNextCursor && (
+          <button
+            onClick={loadMorePartyCompletions}
+            style={{
+              width: '100%',
+              marginTop: '10px',
+              padding: isMobile ? '8px' : '10px',
+              backgroundColor: theme.card.bg,
+              color: theme.text.primary,
+              border: `1px solid ${theme.card.border}`,
+              borderRadius: '5px',
+              cursor: 'pointer',
+              fontSize: isMobile ? '13px' : '14px',
+            }}
+          >
+            더 보기
+          </button>
+        )}
       </div>
     );
   }
@@ -540,6 +585,25 @@ function MasterAdmin({ currentUser }) {
           </div>
         ))}
       </div>
+
+      {nextCursor && (
+        <button
+          onClick={loadMoreUsers}
+          style={{
+            width: '100%',
+            marginTop: '10px',
+            padding: isMobile ? '8px' : '10px',
+            backgroundColor: theme.card.bg,
+            color: theme.text.primary,
+            border: `1px solid ${theme.card.border}`,
+            borderRadius: '5px',
+            cursor: 'pointer',
+            fontSize: isMobile ? '13px' : '14px',
+          }}
+        >
+          더 보기
+        </button>
+      )}
     </div>
   );
 }
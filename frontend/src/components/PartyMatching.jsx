@@ -113,6 +113,20 @@ function PartyMatching() {
     }
   };
 
+  // 추천 공격대 다시 구성 (같은 조건에서 다른 조합)
+  const rerollRecommendations = async () => {
+    if (!selectedRaid) return;
+
+    try {
+      const recommendResponse = await api.get(`/party/recommend/${selectedRaid.id}`, {
+        params: { reroll: true },
+      });
+      setPartyRecommendations(recommendResponse.data);
+    } catch (error) {
+      console.error('공격대 다시 추천 실패:', error);
+    }
+  };
+
   const toggleCharacterSelection = (character) => {
     setSelectedCharacters(prev => {
       const isSelected = prev.find(c => c.id === character.id);
@@ -717,13 +731,34 @@ function PartyMatching() {
 
               {/* 추천 공격대 */}
               <div>
-                <h3 style={{ 
+                <div style={{
+                  display: 'flex',
+                  justifyContent: 'space-between',
+                  alignItems: 'center',
                   marginBottom: '15px',
-                  color: theme.text.primary,
-                  fontSize: isMobile ? '18px' : '20px'
                 }}>
-                  추천 공격대 구성
-                </h3>
+                  <h3 style={{ 
+                    margin: 0,
+                    color: theme.text.primary,
+                    fontSize: isMobile ? '18px' : '20px'
+                  }}>
+                    추천 공격대 구성
+                  </h3>
+                  <button
+                    onClick={rerollRecommendations}
+                    style={{
+                      padding: isMobile ? '6px 12px' : '8px 16px',
+                      backgroundColor: 'transparent',
+                      border: '1px solid #4CAF50',
+                      borderRadius: '6px',
+                      color: '#4CAF50',
+                      cursor: 'pointer',
+                      fontSize: isMobile ? '13px' : '14px',
+                    }}
+                  >
+                    다시 추천
+                  </button>
+                </div>
                 
                 {partyRecommendations.length === 0 ? (
                   <div style={{
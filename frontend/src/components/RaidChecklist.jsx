@@ -34,12 +34,8 @@ function RaidChecklist({ character, onUpdate }) {
   const loadChecklist = async () => {
     try {
       setLoading(true);
-      let response = await completionAPI.getCurrentWeek(character.id);
-      
-      if (response.data.length === 0) {
-        await completionAPI.createChecklist(character.id);
-        response = await completionAPI.getCurrentWeek(character.id);
-      }
+      // 체크리스트가 아직 없으면 서버가 빈 체크리스트를 내려줌 (첫 완료 시 생성)
+      const response = await completionAPI.getCurrentWeek(character.id);
       
       setCompletions(response.data);
       await loadTotalGold();
@@ -82,12 +78,17 @@ function RaidChecklist({ character, onUpdate }) {
     }
   };
 
-  const handleGateComplete = async (gateCompletionId, extraReward) => {
+  const handleGateComplete = async (gate, gateKey, extraReward) => {
     try {
-      setProcessingGateId(gateCompletionId);
-      // console.log('관문 완료 요청:', gateCompletionId, '더보기:', extraReward);
+      setProcessingGateId(gateKey);
+      // console.log('관문 완료 요청:', gateKey, '더보기:', extraReward);
       
-      await completionAPI.completeGate(gateCompletionId, extraReward);
+      // 아직 저장되지 않은 관문(id 없음)은 캐릭터 + 관문 기준으로 완료 처리
+      if (gate.id == null) {
+        await completionAPI.completeGateForCharacter(character.id, gate.raidGate.id, extraReward);
+      } else {
+        await completionAPI.completeGate(gate.id, extraReward);
+      }
       // console.log('관문 완료 성공');
       
       await refreshData();
@@ -348,11 +349,12 @@ function RaidChecklist({ character, onUpdate }) {
                       {selectedRaid.gateCompletions.map((gate) => {
                         const isOtherGateCompleted = !gate.completed && 
                           isGateCompleted(raidGroup, gate.raidGate.gateNumber);
-                        const isProcessing = processingGateId === gate.id;
+                        const gateKey = gate.id ?? `raid-gate-${gate.raidGate.id}`;
+                        const isProcessing = processingGateId === gateKey;
 
                         return (
                           <div
-                            key={gate.id}
+                            key={gateKey}
                             style={{
                               border: `1px solid ${gate.completed ? '#4CAF50' : isOtherGateCompleted ? '#ffcccc' : theme.border.primary}`,
                               padding: isMobile ? '8px' : '10px',
@@ -394,7 +396,7 @@ function RaidChecklist({ character, onUpdate }) {
                                     <label style={{cursor: isOtherGateCompleted ? 'not-allowed' : 'pointer'}}>
                                       <input
                                         type="checkbox"
-                                        id={`extra-${gate.id}`}
+                                        id={`extra-${gateKey}`}
                                         style={{marginRight: '5px'}}
                                         disabled={isOtherGateCompleted || isProcessing}
                                       />
@@ -407,8 +409,8 @@ function RaidChecklist({ character, onUpdate }) {
                                     )}
                                     <button
                                       onClick={() => {
-                                        const extraCheckbox = document.getElementById(`extra-${gate.id}`);
-                                        handleGateComplete(gate.id, extraCheckbox?.checked || false);
+                                        const extraCheckbox = document.getElementById(`extra-${gateKey}`);
+                                        handleGateComplete(gate, gateKey, extraCheckbox?.checked || false);
                                       }}
                                       disabled={isOtherGateCompleted || isProcessing}
                                       style={{
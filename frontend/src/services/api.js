@@ -59,8 +59,13 @@ export const completionAPI = {
     api.post(`/completions/character/${characterId}/checklist`),
   completeGate: (gateCompletionId, extraReward) => 
     api.post(`/completions/gate/${gateCompletionId}/complete`, { extraReward }),
+  completeGateForCharacter: (characterId, raidGateId, extraReward) => 
+    api.post(`/completions/character/${characterId}/gate/${raidGateId}/complete`, { extraReward }),
   uncompleteGate: (gateCompletionId) => 
     api.post(`/completions/gate/${gateCompletionId}/uncomplete`),
+  // items: [{ characterId, raidGateId, completed, extraReward }]
+  applyGateCompletions: (items) => 
+    api.post(`/completions/batch`, { items }),
   getTotalGold: (characterId) => 
     api.get(`/completions/character/${characterId}/total-gold`),
   getResetInfo: () => 
@@ -69,15 +74,15 @@ export const completionAPI = {
 
 // 계정 API
 export const accountAPI = {
-  getSummary: () => 
-    api.get('/account/summary'),
+  getSummary: (userId) => 
+    api.get('/account/summary', {params: {userId}}),
   getRaidComparison: (userId) => 
     api.get('/account/raid-comparison', {params: {userId}}),
 };
 
 // Master 관리자 API
 export const masterAPI = {
-  getAllUsers: (masterUserId) => api.get('/master/users', { params: { masterUserId } }),
+  getAllUsers: (masterUserId, cursor) => api.get('/master/users', { params: { masterUserId, cursor } }),
   getStats: (masterUserId) => api.get('/master/stats', { params: { masterUserId } }),
   deleteUser: (userId, masterUserId) => api.delete(`/master/users/${userId}`, { params: { masterUserId } }),
   resetWeeklyData: (masterUserId) => api.post('/master/reset-weekly', null, { params: { masterUserId } }),
@@ -86,7 +91,7 @@ export const masterAPI = {
       { newPassword }, 
       { params: { masterUserId } }
     ),
-  getAllPartyCompletions: (masterUserId) => api.get('/master/party-completions', { params: { masterUserId } }),
+  getAllPartyCompletions: (masterUserId, cursor) => api.get('/master/party-completions', { params: { masterUserId, cursor } }),
   syncAllUserCharacters: (userId, masterUserId) => 
     api.post(`/master/users/${userId}/sync-all`, null, { params: { masterUserId } }),
 };
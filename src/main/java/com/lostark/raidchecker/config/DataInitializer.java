@@ -2,6 +2,7 @@ package com.lostark.raidchecker.config;
 
 import com.lostark.raidchecker.entity.Raid;
 import com.lostark.raidchecker.repository.RaidRepository;
+import com.lostark.raidchecker.service.RaidCatalog;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class DataInitializer implements CommandLineRunner {
   private final RaidRepository raidRepository;
+  private final RaidCatalog raidCatalog;
 
   @Override
   public void run(String... args) {
@@ -87,6 +89,7 @@ public class DataInitializer implements CommandLineRunner {
     raidRepository.save(raid9);
     raidRepository.save(raid10);
     raidRepository.save(raid11);
+    raidCatalog.refresh();
 
     System.out.println("✅ 레이드 초기 데이터 생성 완료!");
   }
@@ -0,0 +1,71 @@
+package com.lostark.raidchecker.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ✅ party_completions.character_ids(쉼표 구분) → party_completion_members 이전
+ * 서버 시작 시 참여 캐릭터 행이 없는 완료 기록만 옮기므로 여러 번 실행해도 안전하다.
+ * 새 기록은 character_ids를 쓰지 않으므로 컬럼의 NOT NULL 제약도 해제한다.
+ * 참여 캐릭터 행을 읽는 다른 서버 시작 작업(파티 풀, 공격대 기록 요약)보다 먼저 실행한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PartyCompletionMemberMigration {
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  public void migrate() {
+    allowNullCharacterIds();
+
+    List<Object[]> members = new ArrayList<>();
+    jdbcTemplate.query(
+            "SELECT pc.id, pc.raid_id, pc.week_start, pc.character_ids FROM party_completions pc " +
+            "WHERE pc.character_ids IS NOT NULL AND pc.character_ids <> '' " +
+            "AND NOT EXISTS (SELECT 1 FROM party_completion_members m WHERE m.party_completion_id = pc.id)",
+            rs -> {
+              long partyCompletionId = rs.getLong("id");
+              long raidId = rs.getLong("raid_id");
+              Timestamp weekStart = rs.getTimestamp("week_start");
+              for (String characterId : rs.getString("character_ids").split(",")) {
+                if (!characterId.isBlank()) {
+                  members.add(new Object[]{partyCompletionId, Long.parseLong(characterId.trim()), raidId, weekStart});
+                }
+              }
+            });
+
+    if (members.isEmpty()) {
+      return;
+    }
+
+    // 한 완료 기록의 참여 캐릭터가 일부만 들어가지 않도록 한 트랜잭션으로
+    transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+            "INSERT INTO party_completion_members (party_completion_id, character_id, raid_id, week_start) " +
+            "VALUES (?, ?, ?, ?)", members));
+
+    System.out.println("공격대 완료 참여 캐릭터 이전: " + members.size() + "명");
+  }
+
+  // ddl-auto update는 기존 컬럼의 NOT NULL을 풀지 않으므로 직접 변경 (MySQL/TiDB)
+  private void allowNullCharacterIds() {
+    String nullable = jdbcTemplate.query(
+            "SELECT IS_NULLABLE FROM information_schema.COLUMNS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'party_completions' AND COLUMN_NAME = 'character_ids'",
+            rs -> rs.next() ? rs.getString(1) : null);
+    if ("NO".equals(nullable)) {
+      jdbcTemplate.execute("ALTER TABLE party_completions MODIFY character_ids VARCHAR(255) NULL");
+    }
+  }
+}
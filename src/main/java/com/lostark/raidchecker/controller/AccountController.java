@@ -3,28 +3,33 @@ package com.lostark.raidchecker.controller;
 import com.lostark.raidchecker.dto.AccountSummaryDTO;
 import com.lostark.raidchecker.dto.RaidComparisonDTO;
 import com.lostark.raidchecker.service.AccountService;
+import com.lostark.raidchecker.service.DataVersions;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/account")
 @RequiredArgsConstructor
 public class AccountController {
   private final AccountService accountService;
+  private final DataVersions dataVersions;
 
-  // 계정 전체 통계
+  // 계정 통계 (userId가 있으면 그 유저의 캐릭터만)
+  // ✅ 바뀐 게 없으면 304
   @GetMapping("/summary")
-  public ResponseEntity<AccountSummaryDTO> getAccountSummary() {
-    return ResponseEntity.ok(accountService.getAccountSummary());
+  public ResponseEntity<AccountSummaryDTO> getAccountSummary(@RequestParam(required = false) Long userId,
+                                                             WebRequest request) {
+    String eTag = userId != null ? dataVersions.userETag(userId) : dataVersions.allETag();
+    return ETagResponses.ok(request, eTag, () -> accountService.getAccountSummary(userId));
   }
 
   // 레이드 비교 뷰
   @GetMapping("/raid-comparison")
-  public ResponseEntity<Map<String, Object>> getRaidComparison(@RequestParam Long userId) {
-    Map<String, Object> comparison = accountService.getRaidComparison(userId);
-    return ResponseEntity.ok(comparison);
+  public ResponseEntity<RaidComparisonDTO> getRaidComparison(@RequestParam Long userId, WebRequest request) {
+    return ETagResponses.ok(request, dataVersions.userETag(userId),
+            () -> accountService.getRaidComparison(userId));
   }
 }
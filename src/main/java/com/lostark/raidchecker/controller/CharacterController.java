@@ -2,9 +2,11 @@ package com.lostark.raidchecker.controller;
 
 import com.lostark.raidchecker.entity.Character;
 import com.lostark.raidchecker.service.CharacterService;
+import com.lostark.raidchecker.service.DataVersions;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -15,6 +17,7 @@ import java.util.Map;
 public class CharacterController {
 
   private final CharacterService characterService;
+  private final DataVersions dataVersions;
 
   // ✅ 모든 캐릭터 조회 (파라미터 제거)
   /*@GetMapping
@@ -37,10 +40,11 @@ public class CharacterController {
     return ResponseEntity.ok().build();
   }
 
-  // 특정 유저의 캐릭터만 조회
+  // 특정 유저의 캐릭터만 조회 (✅ 바뀐 게 없으면 304)
   @GetMapping
-  public List<Character> getCharactersByUserId(@RequestParam Long userId) {
-    return characterService.getCharactersByUserId(userId);
+  public ResponseEntity<List<Character>> getCharactersByUserId(@RequestParam Long userId, WebRequest request) {
+    return ETagResponses.ok(request, dataVersions.userETag(userId),
+            () -> characterService.getCharactersByUserId(userId));
   }
 
   // 길드 전체 캐릭터 조회 (파티 매칭용)
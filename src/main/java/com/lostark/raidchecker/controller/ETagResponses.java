@@ -0,0 +1,31 @@
+package com.lostark.raidchecker.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * ✅ ETag 조건부 응답 (If-None-Match가 같으면 본문을 만들지 않고 304)
+ * Spring Security 기본 헤더(no-store)가 붙으면 브라우저가 ETag를 저장하지 않으므로 no-cache로 지정
+ */
+final class ETagResponses {
+
+  private ETagResponses() {
+  }
+
+  static <T> ResponseEntity<T> ok(WebRequest request, String eTag, Supplier<T> body) {
+    if (request.checkNotModified(eTag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+              .eTag(eTag)
+              .cacheControl(CacheControl.noCache())
+              .build();
+    }
+    return ResponseEntity.ok()
+            .eTag(eTag)
+            .cacheControl(CacheControl.noCache())
+            .body(body.get());
+  }
+}
@@ -1,15 +1,19 @@
 package com.lostark.raidchecker.controller;
 
-import com.lostark.raidchecker.dto.UserStatsDTO;
+import com.lostark.raidchecker.dto.UserStatsPageDTO;
 import com.lostark.raidchecker.dto.SystemStatsDTO;
-import com.lostark.raidchecker.dto.PartyCompletionDTO;
+import com.lostark.raidchecker.dto.PartyCompletionPageDTO;
+import com.lostark.raidchecker.dto.ProjectionReconcileResultDTO;
+import com.lostark.raidchecker.dto.ResetJobProgressDTO;
+import com.lostark.raidchecker.repository.UserStatsRepository;
 import com.lostark.raidchecker.service.MasterService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -20,13 +24,19 @@ public class MasterController {
   private final MasterService masterService;
 
   /**
-   * 전체 사용자 목록 조회 (통계 포함)
+   * 전체 사용자 목록 조회 (통계 포함, 페이지)
+   * sort: GOLD(이번 주 골드) / CHARACTERS(캐릭터 수) / CREATED(가입일), 모두 내림차순
+   * cursor: 이전 응답의 nextCursor
    */
   @GetMapping("/users")
-  public ResponseEntity<?> getAllUsers(@RequestParam Long masterUserId) {
+  public ResponseEntity<?> getAllUsers(
+          @RequestParam Long masterUserId,
+          @RequestParam(defaultValue = "GOLD") UserStatsRepository.Sort sort,
+          @RequestParam(required = false) String cursor,
+          @RequestParam(defaultValue = "50") int size) {
     try {
       masterService.checkMasterAuth(masterUserId);
-      List<UserStatsDTO> users = masterService.getAllUsersWithStats();
+      UserStatsPageDTO users = masterService.getUsersWithStats(sort, cursor, size);
       return ResponseEntity.ok(users);
     } catch (Exception e) {
       return ResponseEntity.badRequest().body(e.getMessage());
@@ -48,13 +58,20 @@ public class MasterController {
   }
 
   /**
-   * 전체 공격대 완료 목록 조회
+   * 공격대 완료 목록 조회 (최신순, 페이지)
+   * weekStart/raidId/userId: 필터 (선택), cursor: 이전 응답의 nextCursor
    */
   @GetMapping("/party-completions")
-  public ResponseEntity<?> getAllPartyCompletions(@RequestParam Long masterUserId) {
+  public ResponseEntity<?> getAllPartyCompletions(
+          @RequestParam Long masterUserId,
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime weekStart,
+          @RequestParam(required = false) Long raidId,
+          @RequestParam(required = false) Long userId,
+          @RequestParam(required = false) String cursor,
+          @RequestParam(defaultValue = "50") int size) {
     try {
       masterService.checkMasterAuth(masterUserId);
-      List<PartyCompletionDTO> completions = masterService.getAllPartyCompletions();
+      PartyCompletionPageDTO completions = masterService.getPartyCompletions(weekStart, raidId, userId, cursor, size);
       return ResponseEntity.ok(completions);
     } catch (Exception e) {
       return ResponseEntity.badRequest().body(e.getMessage());
@@ -115,6 +132,73 @@ public class MasterController {
     }
   }
 
+  /**
+   * 주간 초기화 작업 진행 상황 (체크포인트, 처리량)
+   */
+  @GetMapping("/reset-job")
+  public ResponseEntity<?> getResetJobProgress(@RequestParam Long masterUserId) {
+    try {
+      masterService.checkMasterAuth(masterUserId);
+      ResetJobProgressDTO progress = masterService.getResetJobProgress();
+      return ResponseEntity.ok(progress);
+    } catch (Exception e) {
+      return ResponseEntity.badRequest().body(e.getMessage());
+    }
+  }
+
+  /**
+   * 주간 초기화 작업 시작/재개 (체크포인트부터 이어서 진행)
+   */
+  @PostMapping("/reset-job/run")
+  public ResponseEntity<?> runResetJob(@RequestParam Long masterUserId) {
+    try {
+      masterService.checkMasterAuth(masterUserId);
+      boolean started = masterService.runResetJob();
+
+      Map<String, Object> response = new HashMap<>();
+      response.put("started", started);
+      response.put("message", started ? "주간 초기화 작업을 시작했습니다." : "이미 실행 중인 작업이 있습니다.");
+
+      return ResponseEntity.ok(response);
+    } catch (Exception e) {
+      return ResponseEntity.badRequest().body(e.getMessage());
+    }
+  }
+
+  /**
+   * 주간 골드 집계 대사 (원본 기록과 비교해 어긋난 만큼 보정)
+   */
+  @PostMapping("/projections/reconcile")
+  public ResponseEntity<?> reconcileCompletionProjection(
+          @RequestParam Long masterUserId,
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime weekStart
+  ) {
+    try {
+      masterService.checkMasterAuth(masterUserId);
+      ProjectionReconcileResultDTO result = masterService.reconcileCompletionProjection(weekStart);
+      return ResponseEntity.ok(result);
+    } catch (Exception e) {
+      return ResponseEntity.badRequest().body(e.getMessage());
+    }
+  }
+
+  /**
+   * 주간 골드 집계 재생성 (관문 완료 이벤트 재적용)
+   */
+  @PostMapping("/projections/replay")
+  public ResponseEntity<?> replayCompletionProjection(
+          @RequestParam Long masterUserId,
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime weekStart
+  ) {
+    try {
+      masterService.checkMasterAuth(masterUserId);
+      masterService.replayCompletionProjection(weekStart);
+      return ResponseEntity.ok().build();
+    } catch (Exception e) {
+      return ResponseEntity.badRequest().body(e.getMessage());
+    }
+  }
+
   /**
    * 사용자 비밀번호 강제 변경
    */
@@ -1,7 +1,11 @@
 package com.lostark.raidchecker.controller;
 
 import com.lostark.raidchecker.dto.PartyCompletionRequest;
+import com.lostark.raidchecker.dto.RaidRecommendationDTO;
+import com.lostark.raidchecker.dto.WeeklyPlanProgressDTO;
 import com.lostark.raidchecker.service.PartyMatchingService;
+import com.lostark.raidchecker.service.WeeklyPartyPlanner;
+import com.lostark.raidchecker.service.WeeklyPartyPlannerService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,6 +19,7 @@ import java.util.Map;
 public class PartyMatchingController {
 
   private final PartyMatchingService partyMatchingService;
+  private final WeeklyPartyPlannerService weeklyPartyPlannerService;
 
   // 특정 레이드의 가능한 캐릭터 목록
   @GetMapping("/available/{raidId}")
@@ -23,10 +28,12 @@ public class PartyMatchingController {
     return ResponseEntity.ok(result);
   }
 
-  // 특정 레이드의 파티 추천 (partyType 자동 판단)
+  // 특정 레이드의 파티 추천 (partyType 자동 판단, reroll=true면 다른 조합)
   @GetMapping("/recommend/{raidId}")
-  public ResponseEntity<List<Map<String, Object>>> recommendParty(@PathVariable Long raidId) {
-    List<Map<String, Object>> recommendations = partyMatchingService.recommendParty(raidId);
+  public ResponseEntity<List<Map<String, Object>>> recommendParty(
+          @PathVariable Long raidId,
+          @RequestParam(defaultValue = "false") boolean reroll) {
+    List<Map<String, Object>> recommendations = partyMatchingService.recommendParty(raidId, reroll);
     return ResponseEntity.ok(recommendations);
   }
 
@@ -37,13 +44,27 @@ public class PartyMatchingController {
     return ResponseEntity.ok("파티 완료 처리되었습니다.");
   }
 
-  // 모든 레이드의 파티 추천 조회
+  // 모든 레이드의 파티 추천 조회 (레이드별 결과/오류)
   @GetMapping("/recommend/all")
-  public ResponseEntity<Map<String, List<Map<String, Object>>>> getAllRecommendations() {
-    Map<String, List<Map<String, Object>>> result = partyMatchingService.getAllPartyRecommendations();
+  public ResponseEntity<List<RaidRecommendationDTO>> getAllRecommendations() {
+    List<RaidRecommendationDTO> result = partyMatchingService.getAllPartyRecommendations();
     return ResponseEntity.ok(result);
   }
 
+  // ✅ 주간 공격대 계획 시작 (objective: GOLD = 골드 합계, CLEARS = 완료 레이드 수)
+  @PostMapping("/plan")
+  public ResponseEntity<String> startWeeklyPlan(
+          @RequestParam(defaultValue = "GOLD") WeeklyPartyPlanner.Objective objective) {
+    boolean started = weeklyPartyPlannerService.start(objective);
+    return ResponseEntity.ok(started ? "주간 공격대 계획을 시작했습니다." : "이미 실행 중입니다.");
+  }
+
+  // ✅ 주간 공격대 계획 진행 상황 (완료 시 계획 포함)
+  @GetMapping("/plan")
+  public ResponseEntity<WeeklyPlanProgressDTO> getWeeklyPlan() {
+    return ResponseEntity.ok(weeklyPartyPlannerService.getProgress());
+  }
+
   // 완료된 파티 목록 조회
   @GetMapping("/completed/{raidId}")
   public ResponseEntity<List<Map<String, Object>>> getCompletedParties(@PathVariable Long raidId) {
@@ -1,13 +1,19 @@
 package com.lostark.raidchecker.controller;
 
+import com.lostark.raidchecker.dto.GateCompletionBatchRequest;
 import com.lostark.raidchecker.entity.GateCompletion;
 import com.lostark.raidchecker.entity.WeeklyCompletion;
+import com.lostark.raidchecker.service.ConcurrencyRetry;
+import com.lostark.raidchecker.service.DataVersions;
 import com.lostark.raidchecker.service.WeeklyCompletionService;
 import com.lostark.raidchecker.util.WeeklyResetUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -17,17 +23,35 @@ import java.util.Map;
 public class WeeklyCompletionController {
 
   private final WeeklyCompletionService weeklyCompletionService;
+  private final ConcurrencyRetry concurrencyRetry;
+  private final DataVersions dataVersions;
 
-  // 이번 주 완료 현황 조회
+  // 이번 주 완료 현황 조회 (✅ 바뀐 게 없으면 304)
   @GetMapping("/character/{characterId}")
-  public List<WeeklyCompletion> getCurrentWeekCompletions(@PathVariable Long characterId) {
-    return weeklyCompletionService.getCurrentWeekCompletions(characterId);
+  public ResponseEntity<List<WeeklyCompletion>> getCurrentWeekCompletions(@PathVariable Long characterId,
+                                                                          WebRequest request) {
+    return ETagResponses.ok(request, dataVersions.characterETag(characterId),
+            () -> weeklyCompletionService.getCurrentWeekCompletions(characterId));
+  }
+
+  // 기록이 있는 주 목록 (최신순)
+  @GetMapping("/character/{characterId}/weeks")
+  public List<LocalDateTime> getCompletionWeeks(@PathVariable Long characterId) {
+    return weeklyCompletionService.getCompletionWeeks(characterId);
+  }
+
+  // 지난 주 완료 기록 조회
+  @GetMapping("/character/{characterId}/history")
+  public List<WeeklyCompletion> getWeekCompletions(
+          @PathVariable Long characterId,
+          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime weekStart) {
+    return weeklyCompletionService.getWeekCompletions(characterId, weekStart);
   }
 
   // 이번 주 체크리스트 생성
   @PostMapping("/character/{characterId}/checklist")
   public List<WeeklyCompletion> createWeeklyChecklist(@PathVariable Long characterId) {
-    return weeklyCompletionService.createWeeklyChecklist(characterId);
+    return concurrencyRetry.execute(() -> weeklyCompletionService.createWeeklyChecklist(characterId));
   }
 
   // ✅ 관문 완료 체크
@@ -36,17 +60,39 @@ public class WeeklyCompletionController {
           @PathVariable Long gateCompletionId,
           @RequestBody Map<String, Boolean> request) {
     boolean extraReward = request.getOrDefault("extraReward", false);
-    GateCompletion gateCompletion = weeklyCompletionService.completeGate(gateCompletionId, extraReward);
+    GateCompletion gateCompletion = concurrencyRetry.execute(
+            () -> weeklyCompletionService.completeGate(gateCompletionId, extraReward));
+    return ResponseEntity.ok(gateCompletion);
+  }
+
+  // ✅ 캐릭터 + 관문 기준 완료 체크 (이번 주 체크리스트가 없으면 자동 생성)
+  @PostMapping("/character/{characterId}/gate/{raidGateId}/complete")
+  public ResponseEntity<GateCompletion> completeGateForCharacter(
+          @PathVariable Long characterId,
+          @PathVariable Long raidGateId,
+          @RequestBody Map<String, Boolean> request) {
+    boolean extraReward = request.getOrDefault("extraReward", false);
+    GateCompletion gateCompletion = concurrencyRetry.execute(
+            () -> weeklyCompletionService.completeGateForCharacter(characterId, raidGateId, extraReward));
     return ResponseEntity.ok(gateCompletion);
   }
 
   // ✅ 관문 완료 취소
   @PostMapping("/gate/{gateCompletionId}/uncomplete")
   public ResponseEntity<GateCompletion> uncompleteGate(@PathVariable Long gateCompletionId) {
-    GateCompletion gateCompletion = weeklyCompletionService.uncompleteGate(gateCompletionId);
+    GateCompletion gateCompletion = concurrencyRetry.execute(
+            () -> weeklyCompletionService.uncompleteGate(gateCompletionId));
     return ResponseEntity.ok(gateCompletion);
   }
 
+  // ✅ 관문 완료/취소 일괄 처리 (레이드 전체, 공격대 전체 등)
+  @PostMapping("/batch")
+  public ResponseEntity<List<GateCompletion>> applyGateCompletions(@RequestBody GateCompletionBatchRequest request) {
+    List<GateCompletion> changed = concurrencyRetry.execute(
+            () -> weeklyCompletionService.applyGateCompletions(request.getItems()));
+    return ResponseEntity.ok(changed);
+  }
+
   // 이번 주 총 획득 골드
   @GetMapping("/character/{characterId}/total-gold")
   public ResponseEntity<Integer> getTotalEarnedGold(@PathVariable Long characterId) {
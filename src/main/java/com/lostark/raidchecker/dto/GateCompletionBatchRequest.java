@@ -0,0 +1,25 @@
+package com.lostark.raidchecker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class GateCompletionBatchRequest {
+  private List<Item> items;
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Item {
+    private Long characterId;
+    private Long raidGateId;
+    private Boolean completed;    // false면 완료 취소 (기본 true)
+    private Boolean extraReward;  // 더보기 여부 (완료 시에만)
+  }
+}
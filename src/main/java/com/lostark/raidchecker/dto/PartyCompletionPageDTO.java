@@ -0,0 +1,13 @@
+package com.lostark.raidchecker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class PartyCompletionPageDTO {
+  private List<PartyCompletionDTO> completions;
+  private String nextCursor;  // 다음 페이지 커서 (마지막 페이지면 null)
+}
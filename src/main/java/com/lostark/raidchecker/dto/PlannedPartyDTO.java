@@ -0,0 +1,17 @@
+package com.lostark.raidchecker.dto;
+
+import com.lostark.raidchecker.entity.Character;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class PlannedPartyDTO {
+  private Long raidId;
+  private String raidName;
+  private String difficulty;
+  private String partyType;
+  private List<Character> dealers;
+  private List<Character> supports;
+  private long expectedGold;  // 골드 획득 캐릭터 기준 예상 골드
+}
@@ -0,0 +1,14 @@
+package com.lostark.raidchecker.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class ProjectionReconcileResultDTO {
+  private LocalDateTime weekStart;
+  private Integer checkedCharacters;
+  private Integer correctedCharacters;  // 원본 기록과 달라 보정 이벤트를 추가한 캐릭터 수
+  private Integer mismatchedUsers;      // 캐릭터 합계와 달라 재생성한 유저 수
+  private LocalDateTime checkedAt;
+}
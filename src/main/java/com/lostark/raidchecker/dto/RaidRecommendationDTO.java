@@ -0,0 +1,17 @@
+package com.lostark.raidchecker.dto;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class RaidRecommendationDTO {
+  private Long raidId;
+  private String raidName;
+  private String difficulty;
+  private String partyType;
+  private int availableCount;
+  private List<Map<String, Object>> parties;
+  private String error;  // 추천 실패 시 사유 (성공 시 null)
+}
@@ -0,0 +1,23 @@
+package com.lostark.raidchecker.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class ResetJobProgressDTO {
+  private LocalDateTime weekStart;
+  private String status;
+  private boolean running;
+  private long lastCharacterId;
+  private int processedCharacters;
+  private int totalCharacters;
+  private double progressRate;        // %
+  private double charactersPerSecond; // 현재 실행 기준 처리량
+  private long purgedRows;
+  private long stagedRows;
+  private LocalDateTime startedAt;
+  private LocalDateTime updatedAt;
+  private LocalDateTime finishedAt;
+  private String lastError;
+}
@@ -0,0 +1,25 @@
+package com.lostark.raidchecker.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class WeeklyPlanProgressDTO {
+  private String status;
+  private boolean running;
+  private String objective;
+  private LocalDateTime weekStart;
+  private int iterations;
+  private int totalIterations;
+  private double progressRate;  // %
+  private long totalGold;       // 현재까지 가장 좋은 계획 기준
+  private int clears;
+  private int partyCount;
+  private LocalDateTime startedAt;
+  private LocalDateTime updatedAt;
+  private LocalDateTime finishedAt;
+  private String lastError;
+  private List<PlannedPartyDTO> parties;  // 완료 후에만 채움
+}
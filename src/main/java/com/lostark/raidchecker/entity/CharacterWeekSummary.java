@@ -0,0 +1,42 @@
+package com.lostark.raidchecker.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 캐릭터 주간 집계 (GateCompletionEvent 프로젝션)
+ * 쓰기는 CompletionProjectionRepository의 증감 SQL로만 한다.
+ */
+@Entity
+@Table(name = "character_week_summaries",
+        uniqueConstraints = @UniqueConstraint(name = "uk_character_week_summaries_character_week",
+                columnNames = {"character_id", "week_start"})
+)
+@Getter
+@Setter
+public class CharacterWeekSummary {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "character_id", nullable = false)
+  private Long characterId;
+
+  @Column(name = "week_start", nullable = false)
+  private LocalDateTime weekStart;
+
+  @Column(nullable = false)
+  private Integer earnedGold = 0;
+
+  @Column(nullable = false)
+  private Integer completedGates = 0;
+
+  @Column(nullable = false)
+  private Integer completedRaids = 0;  // 완료 표시된 레이드 (같은 그룹 다른 난이도 포함)
+
+  @Column(nullable = false)
+  private Integer completedGroups = 0;  // 골드 획득 그룹 수
+}
@@ -6,7 +6,10 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "gate_completions")
+@Table(name = "gate_completions",
+        uniqueConstraints = @UniqueConstraint(name = "uk_gate_completions_weekly_gate",
+                columnNames = {"weekly_completion_id", "raid_gate_id"})
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -35,4 +38,9 @@ public class GateCompletion {
 
   @Column(nullable = false)
   private Integer earnedGold = 0;
+
+  // ✅ 낙관적 잠금 버전
+  @Version
+  @Column(nullable = false)
+  private Long version = 0L;
 }
\ No newline at end of file
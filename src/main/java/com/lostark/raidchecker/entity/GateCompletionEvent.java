@@ -0,0 +1,81 @@
+package com.lostark.raidchecker.entity;
+
+import com.lostark.raidchecker.util.WeeklyResetUtil;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 관문 완료/취소 이벤트 (추가만 하고 수정/삭제하지 않음 - 보관 기간 정리 제외)
+ * *Delta는 이 이벤트로 바뀐 캐릭터 주간 골드/완료 관문 수/완료 레이드 수/골드 그룹 수.
+ * 캐릭터가 삭제되어도 기록은 남도록 FK 없이 id만 저장한다.
+ */
+@Entity
+@Table(name = "gate_completion_events",
+        indexes = @Index(name = "idx_gate_completion_events_week_character", columnList = "week_start, character_id")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+public class GateCompletionEvent {
+  public static final String COMPLETE = "COMPLETE";
+  public static final String UNCOMPLETE = "UNCOMPLETE";
+  public static final String SNAPSHOT = "SNAPSHOT";  // 이벤트 기록 이전 상태 (원본 기록에서 생성한 시작 잔액)
+  public static final String RECONCILE = "RECONCILE";  // 대사 작업의 보정 (원본 기록 - 집계)
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false)
+  private Long characterId;
+
+  @Column(nullable = false)
+  private LocalDateTime weekStart;
+
+  private Long raidGateId;  // SNAPSHOT은 null
+
+  @Column(nullable = false, length = 20)
+  private String type;
+
+  @Column(nullable = false)
+  private Boolean extraReward = false;
+
+  @Column(nullable = false)
+  private Integer goldDelta = 0;
+
+  @Column(nullable = false)
+  private Integer gateDelta = 0;
+
+  @Column(nullable = false)
+  private Integer raidDelta = 0;
+
+  @Column(nullable = false)
+  private Integer groupDelta = 0;
+
+  @Column(nullable = false)
+  private LocalDateTime createdAt;
+
+  public GateCompletionEvent(Long characterId, LocalDateTime weekStart, Long raidGateId, String type,
+                             boolean extraReward, int goldDelta, int gateDelta, int raidDelta, int groupDelta) {
+    this.characterId = characterId;
+    this.weekStart = weekStart;
+    this.raidGateId = raidGateId;
+    this.type = type;
+    this.extraReward = extraReward;
+    this.goldDelta = goldDelta;
+    this.gateDelta = gateDelta;
+    this.raidDelta = raidDelta;
+    this.groupDelta = groupDelta;
+  }
+
+  @PrePersist
+  public void prePersist() {
+    if (createdAt == null) {
+      createdAt = WeeklyResetUtil.getCurrentKoreanTime();
+    }
+  }
+}
@@ -1,14 +1,22 @@
 package com.lostark.raidchecker.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.lostark.raidchecker.util.WeeklyResetUtil;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
-@Table(name = "party_completions")
+@Table(name = "party_completions",
+        indexes = {
+                @Index(name = "idx_party_completions_week_raid", columnList = "week_start, raid_id"),
+                @Index(name = "idx_party_completions_completed_at", columnList = "completed_at, id")  // 목록 keyset 페이지
+        }
+)
 @Getter
 @Setter
 public class PartyCompletion {
@@ -20,9 +28,16 @@ public class PartyCompletion {
   @JoinColumn(name = "raid_id", nullable = false)
   private Raid raid;
 
-  @Column(nullable = false)
+  // 레거시 쉼표 구분 캐릭터 ID (party_completion_members로 이전됨, 새 기록에는 쓰지 않음)
+  @Column(name = "character_ids")
+  @JsonIgnore
   private String characterIds;
 
+  // ✅ 참여 캐릭터
+  @OneToMany(mappedBy = "partyCompletion", cascade = CascadeType.ALL, orphanRemoval = true)
+  @JsonIgnore
+  private List<PartyCompletionMember> members = new ArrayList<>();
+
   @Column(nullable = false)
   private Boolean extraReward = false;
 
@@ -36,6 +51,14 @@ public class PartyCompletion {
   @Column(nullable = false)
   private LocalDateTime weekStart;
 
+  public void addMember(Long characterId) {
+    members.add(new PartyCompletionMember(this, characterId));
+  }
+
+  public List<Long> getMemberCharacterIds() {
+    return members.stream().map(PartyCompletionMember::getCharacterId).toList();
+  }
+
   @PrePersist
   public void prePersist() {
     // WeeklyResetUtil의 한국 시간 사용
@@ -0,0 +1,53 @@
+package com.lostark.raidchecker.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 공격대 완료 기록의 참여 캐릭터 (캐릭터 1명 = 1행)
+ * week_start/raid_id는 소속 PartyCompletion 값을 복사해 둔다.
+ * (week_start, raid_id, character_id) 인덱스로 "이번 주 이 레이드를 완료한 캐릭터"를 인덱스만으로 조회한다.
+ * 캐릭터가 삭제되어도 기록은 남도록 캐릭터 FK 없이 id만 저장한다.
+ */
+@Entity
+@Table(name = "party_completion_members",
+        indexes = @Index(name = "idx_party_completion_members_week_raid_character",
+                columnList = "week_start, raid_id, character_id")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+public class PartyCompletionMember {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "party_completion_id", nullable = false)
+  private PartyCompletion partyCompletion;
+
+  @Column(nullable = false)
+  private Long characterId;
+
+  @Column(nullable = false)
+  private Long raidId;
+
+  @Column(nullable = false)
+  private LocalDateTime weekStart;
+
+  public PartyCompletionMember(PartyCompletion partyCompletion, Long characterId) {
+    this.partyCompletion = partyCompletion;
+    this.characterId = characterId;
+  }
+
+  @PrePersist
+  public void prePersist() {
+    // 소속 기록이 먼저 저장되므로 raid/weekStart가 채워져 있다
+    this.raidId = partyCompletion.getRaid().getId();
+    this.weekStart = partyCompletion.getWeekStart();
+  }
+}
@@ -42,6 +42,7 @@ public class Raid {
 
   // 관문 정보는 별도 테이블로
   @OneToMany(mappedBy = "raid", cascade = CascadeType.ALL, orphanRemoval = true)
+  @OrderBy("gateNumber ASC")
   @JsonIgnore
   private List<RaidGate> gates = new ArrayList<>();
 
@@ -0,0 +1,41 @@
+package com.lostark.raidchecker.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 유저 주간 집계 (소속 캐릭터의 CharacterWeekSummary 합계)
+ */
+@Entity
+@Table(name = "user_week_summaries",
+        uniqueConstraints = @UniqueConstraint(name = "uk_user_week_summaries_user_week",
+                columnNames = {"user_id", "week_start"})
+)
+@Getter
+@Setter
+public class UserWeekSummary {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "user_id", nullable = false)
+  private Long userId;
+
+  @Column(name = "week_start", nullable = false)
+  private LocalDateTime weekStart;
+
+  @Column(nullable = false)
+  private Integer earnedGold = 0;
+
+  @Column(nullable = false)
+  private Integer completedGates = 0;
+
+  @Column(nullable = false)
+  private Integer completedRaids = 0;
+
+  @Column(nullable = false)
+  private Integer completedGroups = 0;
+}
@@ -10,7 +10,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "weekly_completions")
+@Table(name = "weekly_completions",
+        indexes = @Index(name = "idx_weekly_completions_character_week", columnList = "character_id, week_start"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_weekly_completions_character_raid_week",
+                columnNames = {"character_id", "raid_id", "week_start"})
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -40,10 +44,16 @@ public class WeeklyCompletion {
   @Column(nullable = false)
   private Integer earnedGold = 0;
 
-  @OneToMany(mappedBy = "weeklyCompletion", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)  // ✅ EAGER 추가
+  // ✅ LAZY: 관문 정보가 필요한 조회는 fetch join 쿼리 사용 (WeeklyCompletionRepository.find*WithGates*)
+  @OneToMany(mappedBy = "weeklyCompletion", cascade = CascadeType.ALL, orphanRemoval = true)
   @JsonIgnore
   private List<GateCompletion> gateCompletions = new ArrayList<>();
 
+  // ✅ 낙관적 잠금 버전 (두 기기에서 동시에 체크하면 늦게 커밋한 쪽이 실패 → 재시도)
+  @Version
+  @Column(nullable = false)
+  private Long version = 0L;
+
   // 골드 계산 메서드
   public void calculateEarnedGold(int currentGoldCount) {
     // 이미 3회 획득했으면 골드 0
@@ -0,0 +1,50 @@
+package com.lostark.raidchecker.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주간 초기화 작업 진행 상태 (체크포인트)
+ * weekStart 주를 맞이하기 위한 준비 작업 (지난 기록 정리 + 체크리스트 미리 생성).
+ * 캐릭터 id 순으로 일정 개수씩 처리하고, 처리한 마지막 캐릭터 id를 남겨 중단 시 이어서 진행한다.
+ */
+@Entity
+@Table(name = "weekly_reset_jobs")
+@Getter
+@Setter
+public class WeeklyResetJob {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false, unique = true)
+  private LocalDateTime weekStart;
+
+  @Column(nullable = false, length = 20)
+  private String status = "RUNNING";  // RUNNING, COMPLETED, FAILED
+
+  @Column(nullable = false)
+  private Long lastCharacterId = 0L;
+
+  @Column(nullable = false)
+  private Integer processedCharacters = 0;
+
+  @Column(nullable = false)
+  private Integer totalCharacters = 0;
+
+  @Column(nullable = false)
+  private Long purgedRows = 0L;
+
+  @Column(nullable = false)
+  private Long stagedRows = 0L;
+
+  private LocalDateTime startedAt;
+  private LocalDateTime updatedAt;
+  private LocalDateTime finishedAt;
+
+  @Column(length = 500)
+  private String lastError;
+}
@@ -1,7 +1,10 @@
 package com.lostark.raidchecker.repository;
 
 import com.lostark.raidchecker.entity.Character;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -12,4 +15,8 @@ public interface CharacterRepository extends JpaRepository<Character, Long> {
   List<Character> findByUser_Id(Long userId);
   int countByUser_Id(Long userId);
   Character findById(long id);
+
+  // id 순 청크 조회 (주간 초기화 작업용)
+  @Query("SELECT c.id FROM Character c WHERE c.id > :lastId ORDER BY c.id ASC")
+  List<Long> findIdsAfter(@Param("lastId") Long lastId, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.lostark.raidchecker.repository;
+
+import com.lostark.raidchecker.entity.CharacterWeekSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CharacterWeekSummaryRepository extends JpaRepository<CharacterWeekSummary, Long> {
+
+  Optional<CharacterWeekSummary> findByCharacterIdAndWeekStart(Long characterId, LocalDateTime weekStart);
+
+  List<CharacterWeekSummary> findByWeekStart(LocalDateTime weekStart);
+
+  // ✅ 계정 통계용 캐릭터별 한 주 집계 (SQL 1회, 엔티티 로딩 없음, 유저가 없는 캐릭터 포함)
+  // 집계가 없는 캐릭터는 0
+  @Query("SELECT c.id AS id, u.id AS userId, c.characterName AS characterName, c.className AS className, " +
+          "c.itemLevel AS itemLevel, c.goldPriority AS goldPriority, " +
+          "COALESCE(s.earnedGold, 0) AS earnedGold, COALESCE(s.completedRaids, 0) AS completedCount " +
+          "FROM Character c LEFT JOIN c.user u " +
+          "LEFT JOIN CharacterWeekSummary s ON s.characterId = c.id AND s.weekStart = :weekStart " +
+          "ORDER BY c.id")
+  List<AccountSummaryRow> findAccountSummaryRows(@Param("weekStart") LocalDateTime weekStart);
+
+  /**
+   * 계정 통계 조회 결과 (캐릭터 1명 = 1행)
+   */
+  interface AccountSummaryRow {
+    Long getId();
+    Long getUserId();
+    String getCharacterName();
+    String getClassName();
+    Double getItemLevel();
+    Integer getGoldPriority();
+    Integer getEarnedGold();
+    Integer getCompletedCount();
+  }
+}
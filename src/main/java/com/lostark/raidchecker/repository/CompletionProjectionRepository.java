@@ -0,0 +1,205 @@
+package com.lostark.raidchecker.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ✅ 주간 집계 프로젝션 쓰기 (JDBC)
+ * 집계 행은 읽지 않고 증감 SQL(upsert) 한 번으로 반영한다. 동시에 반영해도 값이 유실되지 않는다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CompletionProjectionRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  // 원본 기록 기준 캐릭터별 주간 합계 (골드, 완료 관문, 완료 레이드, 골드 그룹) - week_start 파라미터 2개
+  private static final String RAW_CHARACTER_WEEK_TOTALS =
+          "SELECT wc.character_id, " +
+          "       SUM(wc.earned_gold) AS gold, " +
+          "       COALESCE(SUM(g.gate_count), 0) AS gates, " +
+          "       SUM(CASE WHEN wc.completed THEN 1 ELSE 0 END) AS raids, " +
+          "       COUNT(DISTINCT CASE WHEN wc.completed THEN r.raid_group END) AS grp " +
+          "FROM weekly_completions wc " +
+          "JOIN raids r ON r.id = wc.raid_id " +
+          "LEFT JOIN (SELECT gc.weekly_completion_id, COUNT(*) AS gate_count " +
+          "           FROM gate_completions gc " +
+          "           JOIN weekly_completions w ON w.id = gc.weekly_completion_id " +
+          "           WHERE w.week_start = ? AND gc.completed = TRUE " +
+          "           GROUP BY gc.weekly_completion_id) g ON g.weekly_completion_id = wc.id " +
+          "WHERE wc.week_start = ? " +
+          "GROUP BY wc.character_id";
+
+  // 캐릭터 주간 집계 증감 (행이 없으면 생성)
+  public void addToCharacterWeek(Long characterId, LocalDateTime weekStart, Counters delta) {
+    jdbcTemplate.update(
+            "INSERT INTO character_week_summaries " +
+            "(character_id, week_start, earned_gold, completed_gates, completed_raids, completed_groups) " +
+            "VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE earned_gold = earned_gold + ?, completed_gates = completed_gates + ?, " +
+            "completed_raids = completed_raids + ?, completed_groups = completed_groups + ?",
+            characterId, Timestamp.valueOf(weekStart),
+            delta.gold(), delta.gates(), delta.raids(), delta.groups(),
+            delta.gold(), delta.gates(), delta.raids(), delta.groups());
+  }
+
+  // 캐릭터 소유 유저의 주간 집계 증감 (유저가 없는 캐릭터는 건너뜀)
+  public void addToUserWeek(Long characterId, LocalDateTime weekStart, Counters delta) {
+    jdbcTemplate.update(
+            "INSERT INTO user_week_summaries " +
+            "(user_id, week_start, earned_gold, completed_gates, completed_raids, completed_groups) " +
+            "SELECT c.user_id, ?, ?, ?, ?, ? FROM characters c WHERE c.id = ? AND c.user_id IS NOT NULL " +
+            "ON DUPLICATE KEY UPDATE earned_gold = earned_gold + ?, completed_gates = completed_gates + ?, " +
+            "completed_raids = completed_raids + ?, completed_groups = completed_groups + ?",
+            Timestamp.valueOf(weekStart), delta.gold(), delta.gates(), delta.raids(), delta.groups(), characterId,
+            delta.gold(), delta.gates(), delta.raids(), delta.groups());
+  }
+
+  /**
+   * 원본 기록(weekly/gate_completions)으로 캐릭터별 SNAPSHOT 이벤트 생성
+   * 이벤트 기록을 시작하기 전의 상태를 시작 잔액으로 남긴다.
+   */
+  public int insertSnapshotEvents(LocalDateTime weekStart, LocalDateTime createdAt) {
+    Timestamp week = Timestamp.valueOf(weekStart);
+    return jdbcTemplate.update(
+            "INSERT INTO gate_completion_events " +
+            "(character_id, week_start, raid_gate_id, type, extra_reward, " +
+            " gold_delta, gate_delta, raid_delta, group_delta, created_at) " +
+            "SELECT t.character_id, ?, NULL, 'SNAPSHOT', FALSE, t.gold, t.gates, t.raids, t.grp, ? " +
+            "FROM (" + RAW_CHARACTER_WEEK_TOTALS + ") t " +
+            "WHERE t.gold <> 0 OR t.gates <> 0 OR t.raids <> 0",
+            week, Timestamp.valueOf(createdAt), week, week);
+  }
+
+  // 원본 기록 기준 캐릭터별 주간 합계 (대사용)
+  public Map<Long, Counters> findRawCharacterWeekTotals(LocalDateTime weekStart) {
+    Timestamp week = Timestamp.valueOf(weekStart);
+    Map<Long, Counters> totals = new HashMap<>();
+    jdbcTemplate.query(RAW_CHARACTER_WEEK_TOTALS, rs -> {
+      totals.put(rs.getLong("character_id"),
+              new Counters(rs.getInt("gold"), rs.getInt("gates"), rs.getInt("raids"), rs.getInt("grp")));
+    }, week, week);
+    return totals;
+  }
+
+  // 캐릭터 주간 집계 (대사용)
+  public Map<Long, Counters> findCharacterWeekSummaries(LocalDateTime weekStart) {
+    Map<Long, Counters> summaries = new HashMap<>();
+    jdbcTemplate.query(
+            "SELECT character_id, earned_gold, completed_gates, completed_raids, completed_groups " +
+            "FROM character_week_summaries WHERE week_start = ?", rs -> {
+              summaries.put(rs.getLong("character_id"), new Counters(rs.getInt("earned_gold"),
+                      rs.getInt("completed_gates"), rs.getInt("completed_raids"), rs.getInt("completed_groups")));
+            }, Timestamp.valueOf(weekStart));
+    return summaries;
+  }
+
+  /**
+   * 유저 집계가 소속 캐릭터 집계 합계와 다른 유저 수 (대사용)
+   */
+  public int countUserWeekMismatches(LocalDateTime weekStart) {
+    Timestamp week = Timestamp.valueOf(weekStart);
+    Integer count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM (" +
+            "  SELECT c.user_id, SUM(s.earned_gold) AS gold, SUM(s.completed_gates) AS gates, " +
+            "         SUM(s.completed_raids) AS raids, SUM(s.completed_groups) AS grp " +
+            "  FROM character_week_summaries s JOIN characters c ON c.id = s.character_id " +
+            "  WHERE s.week_start = ? AND c.user_id IS NOT NULL GROUP BY c.user_id" +
+            ") t LEFT JOIN user_week_summaries u ON u.user_id = t.user_id AND u.week_start = ? " +
+            "WHERE u.id IS NULL OR u.earned_gold <> t.gold OR u.completed_gates <> t.gates " +
+            "   OR u.completed_raids <> t.raids OR u.completed_groups <> t.grp",
+            Integer.class, week, week);
+    return count != null ? count : 0;
+  }
+
+  /**
+   * 이벤트를 다시 적용해 특정 주의 집계 재생성 (캐릭터 → 유저 순)
+   */
+  public void rebuildWeek(LocalDateTime weekStart) {
+    Timestamp week = Timestamp.valueOf(weekStart);
+    deleteSummaries(week);
+    jdbcTemplate.update(
+            "INSERT INTO character_week_summaries " +
+            "(character_id, week_start, earned_gold, completed_gates, completed_raids, completed_groups) " +
+            "SELECT e.character_id, e.week_start, " +
+            "       SUM(e.gold_delta), SUM(e.gate_delta), SUM(e.raid_delta), SUM(e.group_delta) " +
+            "FROM gate_completion_events e WHERE e.week_start = ? " +
+            "GROUP BY e.character_id, e.week_start", week);
+    insertUserWeekSummaries(week);
+  }
+
+  // 특정 주의 유저 집계를 캐릭터 집계 합계로 재생성
+  public void rebuildUserWeek(LocalDateTime weekStart) {
+    Timestamp week = Timestamp.valueOf(weekStart);
+    jdbcTemplate.update("DELETE FROM user_week_summaries WHERE week_start = ?", week);
+    insertUserWeekSummaries(week);
+  }
+
+  private void insertUserWeekSummaries(Timestamp week) {
+    jdbcTemplate.update(
+            "INSERT INTO user_week_summaries " +
+            "(user_id, week_start, earned_gold, completed_gates, completed_raids, completed_groups) " +
+            "SELECT c.user_id, s.week_start, " +
+            "       SUM(s.earned_gold), SUM(s.completed_gates), SUM(s.completed_raids), SUM(s.completed_groups) " +
+            "FROM character_week_summaries s JOIN characters c ON c.id = s.character_id " +
+            "WHERE s.week_start = ? AND c.user_id IS NOT NULL " +
+            "GROUP BY c.user_id, s.week_start", week);
+  }
+
+  /**
+   * 캐릭터 삭제 전: 유저 집계에서 캐릭터 몫을 빼고 캐릭터 집계 삭제 (이벤트는 보관)
+   */
+  public void removeCharacter(Long characterId) {
+    jdbcTemplate.update(
+            "UPDATE user_week_summaries u " +
+            "JOIN characters c ON c.user_id = u.user_id " +
+            "JOIN character_week_summaries s ON s.character_id = c.id AND s.week_start = u.week_start " +
+            "SET u.earned_gold = u.earned_gold - s.earned_gold, " +
+            "    u.completed_gates = u.completed_gates - s.completed_gates, " +
+            "    u.completed_raids = u.completed_raids - s.completed_raids, " +
+            "    u.completed_groups = u.completed_groups - s.completed_groups " +
+            "WHERE c.id = ?", characterId);
+    jdbcTemplate.update("DELETE FROM character_week_summaries WHERE character_id = ?", characterId);
+  }
+
+  // 특정 주의 이벤트/집계 삭제 (이번 주 데이터 초기화)
+  public void deleteWeek(LocalDateTime weekStart) {
+    Timestamp week = Timestamp.valueOf(weekStart);
+    jdbcTemplate.update("DELETE FROM gate_completion_events WHERE week_start = ?", week);
+    deleteSummaries(week);
+  }
+
+  // 기준 주 이전 이벤트/집계 삭제 (보관 기간 정리)
+  public int deleteBefore(LocalDateTime weekStart) {
+    Timestamp week = Timestamp.valueOf(weekStart);
+    return jdbcTemplate.update("DELETE FROM gate_completion_events WHERE week_start < ?", week)
+            + jdbcTemplate.update("DELETE FROM character_week_summaries WHERE week_start < ?", week)
+            + jdbcTemplate.update("DELETE FROM user_week_summaries WHERE week_start < ?", week);
+  }
+
+  private void deleteSummaries(Timestamp week) {
+    jdbcTemplate.update("DELETE FROM character_week_summaries WHERE week_start = ?", week);
+    jdbcTemplate.update("DELETE FROM user_week_summaries WHERE week_start = ?", week);
+  }
+
+  /**
+   * 주간 카운터 묶음 (골드, 완료 관문, 완료 레이드, 골드 그룹)
+   */
+  public record Counters(int gold, int gates, int raids, int groups) {
+    public static final Counters ZERO = new Counters(0, 0, 0, 0);
+
+    public Counters minus(Counters other) {
+      return new Counters(gold - other.gold, gates - other.gates, raids - other.raids, groups - other.groups);
+    }
+
+    public boolean isZero() {
+      return gold == 0 && gates == 0 && raids == 0 && groups == 0;
+    }
+  }
+}
@@ -0,0 +1,16 @@
+package com.lostark.raidchecker.repository;
+
+import com.lostark.raidchecker.entity.GateCompletionEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface GateCompletionEventRepository extends JpaRepository<GateCompletionEvent, Long> {
+
+  List<GateCompletionEvent> findByCharacterIdAndWeekStartOrderByIdAsc(Long characterId, LocalDateTime weekStart);
+
+  boolean existsByWeekStart(LocalDateTime weekStart);
+}
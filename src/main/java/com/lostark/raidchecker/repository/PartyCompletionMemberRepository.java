@@ -0,0 +1,27 @@
+package com.lostark.raidchecker.repository;
+
+import com.lostark.raidchecker.entity.PartyCompletionMember;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface PartyCompletionMemberRepository extends JpaRepository<PartyCompletionMember, Long> {
+
+  // 주간 완료 [레이드 ID, 캐릭터 ID] 전체 (전체 레이드 추천용)
+  @Query("SELECT m.raidId, m.characterId FROM PartyCompletionMember m WHERE m.weekStart = :weekStart")
+  List<Object[]> findRaidIdAndCharacterIdByWeekStart(@Param("weekStart") LocalDateTime weekStart);
+
+  // 주간 완료 [레이드 ID, 캐릭터 ID, 완료 기록 ID] 전체 (파티 매칭 풀 생성용)
+  @Query("SELECT m.raidId, m.characterId, m.partyCompletion.id FROM PartyCompletionMember m WHERE m.weekStart = :weekStart")
+  List<Object[]> findRaidIdCharacterIdAndCompletionIdByWeekStart(@Param("weekStart") LocalDateTime weekStart);
+
+  // 기간 내 실제 완료한 공격대의 [완료 기록 ID, 캐릭터 ID] (완료 기록 ID 순, 공격대 기록 요약용)
+  @Query("SELECT m.partyCompletion.id, m.characterId FROM PartyCompletionMember m " +
+         "WHERE m.weekStart >= :from AND m.weekStart <= :to AND m.partyCompletion.actualCompleted = true " +
+         "ORDER BY m.partyCompletion.id")
+  List<Object[]> findActualCompletedMembersBetween(@Param("from") LocalDateTime from,
+                                                   @Param("to") LocalDateTime to);
+}
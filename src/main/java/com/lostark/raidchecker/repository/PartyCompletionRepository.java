@@ -1,17 +1,48 @@
 package com.lostark.raidchecker.repository;
 
 import com.lostark.raidchecker.entity.PartyCompletion;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface PartyCompletionRepository extends JpaRepository<PartyCompletion, Long> {
   List<PartyCompletion> findByWeekStart(LocalDateTime weekStart);
   List<PartyCompletion> findByRaid_IdAndWeekStart(Long raidId, LocalDateTime weekStart);
+
+  // 레이드의 주간 완료 기록 + 참여 캐릭터 (1회 조회)
+  @Query("SELECT DISTINCT pc FROM PartyCompletion pc LEFT JOIN FETCH pc.members " +
+          "WHERE pc.raid.id = :raidId AND pc.weekStart = :weekStart")
+  List<PartyCompletion> findWithMembersByRaidIdAndWeekStart(@Param("raidId") Long raidId,
+                                                            @Param("weekStart") LocalDateTime weekStart);
   void deleteByWeekStartBefore(LocalDateTime weekStart);
+
   /**
-   * 전체 공격대 완료 목록 (최신순)
+   * ✅ 공격대 완료 기록 한 페이지 (최신순, (completedAt, id) keyset, 엔티티 로딩 없음)
+   * 필터는 null이면 적용하지 않는다. userId는 그 유저의 캐릭터가 참여한 기록.
+   * 행: [id, 레이드 ID, 추가 보상, 완료 시각, 주 시작]
    */
-  List<PartyCompletion> findAllByOrderByCompletedAtDesc();
+  @Query("SELECT pc.id, pc.raid.id, pc.extraReward, pc.completedAt, pc.weekStart FROM PartyCompletion pc " +
+          "WHERE (:weekStart IS NULL OR pc.weekStart = :weekStart) " +
+          "AND (:raidId IS NULL OR pc.raid.id = :raidId) " +
+          "AND (:userId IS NULL OR EXISTS (SELECT 1 FROM PartyCompletionMember m, Character c " +
+          "     WHERE m.partyCompletion = pc AND c.id = m.characterId AND c.user.id = :userId)) " +
+          "AND (:afterCompletedAt IS NULL OR pc.completedAt < :afterCompletedAt " +
+          "     OR (pc.completedAt = :afterCompletedAt AND pc.id < :afterId)) " +
+          "ORDER BY pc.completedAt DESC, pc.id DESC")
+  List<Object[]> findPageRows(@Param("weekStart") LocalDateTime weekStart,
+                              @Param("raidId") Long raidId,
+                              @Param("userId") Long userId,
+                              @Param("afterCompletedAt") LocalDateTime afterCompletedAt,
+                              @Param("afterId") Long afterId,
+                              Pageable pageable);
+
+  // 여러 기록의 참여 캐릭터 [기록 ID, 캐릭터 ID] (1회 조회)
+  @Query("SELECT m.partyCompletion.id, m.characterId FROM PartyCompletionMember m " +
+          "WHERE m.partyCompletion.id IN :ids ORDER BY m.id")
+  List<Object[]> findMemberRowsByPartyCompletionIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -2,6 +2,7 @@ package com.lostark.raidchecker.repository;
 
 import com.lostark.raidchecker.entity.Raid;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
@@ -14,4 +15,8 @@ public interface RaidRepository extends JpaRepository<Raid, Long> {
 
   // ✅ 추가: 레이드 그룹으로 찾기
   List<Raid> findByRaidGroup(String raidGroup);
+
+  // ✅ 추가: 관문까지 한 번에 조회 (RaidCatalog 캐시용)
+  @Query("SELECT DISTINCT r FROM Raid r LEFT JOIN FETCH r.gates ORDER BY r.orderIndex ASC")
+  List<Raid> findAllWithGates();
 }
\ No newline at end of file
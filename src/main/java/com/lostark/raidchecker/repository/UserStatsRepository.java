@@ -0,0 +1,83 @@
+package com.lostark.raidchecker.repository;
+
+import com.lostark.raidchecker.dto.UserStatsDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ✅ 관리자 사용자 목록 (JDBC)
+ * 유저 + 캐릭터 수 + 이번 주 유저 주간 집계를 GROUP BY 쿼리 1회로 읽는다.
+ * 페이지는 OFFSET 대신 (정렬 값, 유저 ID) 기준 keyset으로 넘긴다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserStatsRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * 정렬 기준 (모두 내림차순, 같으면 유저 ID 내림차순)
+   * aggregate: 정렬 값이 집계 함수라서 WHERE 대신 HAVING으로 자른다
+   */
+  public enum Sort {
+    GOLD("COALESCE(s.earned_gold, 0)", false),
+    CHARACTERS("COUNT(c.id)", true),
+    CREATED("COALESCE(u.created_at, TIMESTAMP '1970-01-01 00:00:00')", false);
+
+    private final String expression;
+    private final boolean aggregate;
+
+    Sort(String expression, boolean aggregate) {
+      this.expression = expression;
+      this.aggregate = aggregate;
+    }
+  }
+
+  /**
+   * 한 페이지 조회
+   * @param afterValue 이전 페이지 마지막 행의 정렬 값 (첫 페이지는 null, CREATED는 Timestamp)
+   * @param afterId    이전 페이지 마지막 행의 유저 ID (첫 페이지는 null)
+   */
+  public List<UserStatsDTO> findPage(LocalDateTime weekStart, Sort sort, Object afterValue, Long afterId, int size) {
+    String keyset = "(" + sort.expression + " < ? OR (" + sort.expression + " = ? AND u.id < ?)) ";
+    boolean first = afterValue == null || afterId == null;
+
+    String sql =
+            "SELECT u.id, u.username, u.created_at, COUNT(c.id) AS character_count, " +
+            "       COALESCE(s.earned_gold, 0) AS weekly_gold " +
+            "FROM users u " +
+            "LEFT JOIN characters c ON c.user_id = u.id " +
+            "LEFT JOIN user_week_summaries s ON s.user_id = u.id AND s.week_start = ? " +
+            (first || sort.aggregate ? "" : "WHERE " + keyset) +
+            "GROUP BY u.id, u.username, u.created_at, s.earned_gold " +
+            (first || !sort.aggregate ? "" : "HAVING " + keyset) +
+            "ORDER BY " + sort.expression + " DESC, u.id DESC " +
+            "LIMIT ?";
+
+    List<Object> params = new ArrayList<>();
+    params.add(Timestamp.valueOf(weekStart));
+    if (!first) {
+      params.add(afterValue);
+      params.add(afterValue);
+      params.add(afterId);
+    }
+    params.add(size);
+
+    return jdbcTemplate.query(sql, (rs, rowNum) -> {
+      UserStatsDTO dto = new UserStatsDTO();
+      dto.setId(rs.getLong("id"));
+      dto.setUsername(rs.getString("username"));
+      Timestamp createdAt = rs.getTimestamp("created_at");
+      dto.setCreatedAt(createdAt != null ? createdAt.toLocalDateTime() : null);
+      dto.setCharacterCount(rs.getInt("character_count"));
+      dto.setWeeklyGold(rs.getInt("weekly_gold"));
+      return dto;
+    }, params.toArray());
+  }
+}
@@ -0,0 +1,17 @@
+package com.lostark.raidchecker.repository;
+
+import com.lostark.raidchecker.entity.UserWeekSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserWeekSummaryRepository extends JpaRepository<UserWeekSummary, Long> {
+
+  Optional<UserWeekSummary> findByUserIdAndWeekStart(Long userId, LocalDateTime weekStart);
+
+  List<UserWeekSummary> findByWeekStart(LocalDateTime weekStart);
+}
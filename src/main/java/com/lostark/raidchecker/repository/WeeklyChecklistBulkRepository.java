@@ -0,0 +1,144 @@
+package com.lostark.raidchecker.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * ✅ 주간 체크리스트 일괄 처리 (JDBC)
+ * 캐릭터 수와 관계없이 고정된 개수의 SQL 문으로 삭제/생성한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class WeeklyChecklistBulkRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  // 캐릭터 × (아이템 레벨을 만족하는) 레이드 조합으로 WeeklyCompletion 생성
+  private static final String INSERT_WEEKLY_COMPLETIONS =
+          "INSERT INTO weekly_completions (character_id, raid_id, week_start, completed, earned_gold, version) " +
+          "SELECT c.id, r.id, ?, FALSE, 0, 0 " +
+          "FROM characters c " +
+          "JOIN raids r ON r.required_item_level <= c.item_level " +
+          "WHERE NOT EXISTS (SELECT 1 FROM weekly_completions wc " +
+          "                  WHERE wc.character_id = c.id AND wc.raid_id = r.id AND wc.week_start = ?)";
+
+  // WeeklyCompletion × 관문 조합으로 GateCompletion 생성
+  private static final String INSERT_GATE_COMPLETIONS =
+          "INSERT INTO gate_completions (weekly_completion_id, raid_gate_id, completed, extra_reward, earned_gold, version) " +
+          "SELECT wc.id, g.id, FALSE, FALSE, 0, 0 " +
+          "FROM weekly_completions wc " +
+          "JOIN raid_gates g ON g.raid_id = wc.raid_id " +
+          "WHERE wc.week_start = ? " +
+          "AND NOT EXISTS (SELECT 1 FROM gate_completions gc " +
+          "                WHERE gc.weekly_completion_id = wc.id AND gc.raid_gate_id = g.id)";
+
+  /**
+   * 특정 캐릭터의 체크리스트 생성 (INSERT ... SELECT 2회)
+   * 이미 존재하는 레이드/관문은 건너뛴다.
+   */
+  public int insertChecklist(Long characterId, LocalDateTime weekStart) {
+    Timestamp week = Timestamp.valueOf(weekStart);
+    int weeklyCount = jdbcTemplate.update(
+            INSERT_WEEKLY_COMPLETIONS + " AND c.id = ?", week, week, characterId);
+    jdbcTemplate.update(
+            INSERT_GATE_COMPLETIONS + " AND wc.character_id = ?", week, characterId);
+    return weeklyCount;
+  }
+
+  /**
+   * 여러 캐릭터의 체크리스트를 한 번에 생성 (INSERT ... SELECT 2회)
+   */
+  public int insertChecklists(Collection<Long> characterIds, LocalDateTime weekStart) {
+    if (characterIds.isEmpty()) {
+      return 0;
+    }
+    Timestamp week = Timestamp.valueOf(weekStart);
+    String placeholders = String.join(",", Collections.nCopies(characterIds.size(), "?"));
+
+    List<Object> weeklyArgs = new ArrayList<>(List.of(week, week));
+    weeklyArgs.addAll(characterIds);
+    int weeklyCount = jdbcTemplate.update(
+            INSERT_WEEKLY_COMPLETIONS + " AND c.id IN (" + placeholders + ")", weeklyArgs.toArray());
+
+    List<Object> gateArgs = new ArrayList<>(List.of(week));
+    gateArgs.addAll(characterIds);
+    jdbcTemplate.update(
+            INSERT_GATE_COMPLETIONS + " AND wc.character_id IN (" + placeholders + ")", gateArgs.toArray());
+    return weeklyCount;
+  }
+
+  /**
+   * 캐릭터 id 구간 (fromId, toId] 중 기준 주(activeWeekStart)에 체크리스트가 있던 캐릭터만
+   * 대상 주(weekStart)의 체크리스트를 미리 생성 (INSERT ... SELECT 2회)
+   * @return 생성된 WeeklyCompletion 개수
+   */
+  public int insertChecklistsForActiveCharacters(long fromIdExclusive, long toIdInclusive,
+                                                 LocalDateTime weekStart, LocalDateTime activeWeekStart) {
+    Timestamp week = Timestamp.valueOf(weekStart);
+    int weeklyCount = jdbcTemplate.update(
+            INSERT_WEEKLY_COMPLETIONS +
+            " AND c.id > ? AND c.id <= ?" +
+            " AND EXISTS (SELECT 1 FROM weekly_completions prev" +
+            "             WHERE prev.character_id = c.id AND prev.week_start = ?)",
+            week, week, fromIdExclusive, toIdInclusive, Timestamp.valueOf(activeWeekStart));
+    jdbcTemplate.update(
+            INSERT_GATE_COMPLETIONS + " AND wc.character_id > ? AND wc.character_id <= ?",
+            week, fromIdExclusive, toIdInclusive);
+    return weeklyCount;
+  }
+
+  /**
+   * 특정 주의 완료 데이터 삭제 (순서 중요! FK 제약 조건)
+   * 엔티티 단위 deleteAll() 대신 week_start 조건 DELETE 4회
+   * @return 삭제된 행 수 {PartyCompletion, GateCompletion, WeeklyCompletion}
+   */
+  public int[] deleteWeek(LocalDateTime weekStart) {
+    Timestamp week = Timestamp.valueOf(weekStart);
+    jdbcTemplate.update(
+            "DELETE FROM party_completion_members WHERE week_start = ?", week);
+    int partyCount = jdbcTemplate.update(
+            "DELETE FROM party_completions WHERE week_start = ?", week);
+    int gateCount = jdbcTemplate.update(
+            "DELETE gc FROM gate_completions gc " +
+            "JOIN weekly_completions wc ON wc.id = gc.weekly_completion_id " +
+            "WHERE wc.week_start = ?", week);
+    int weeklyCount = jdbcTemplate.update(
+            "DELETE FROM weekly_completions WHERE week_start = ?", week);
+    return new int[]{partyCount, gateCount, weeklyCount};
+  }
+
+  /**
+   * 캐릭터 id 구간 (fromId, toId]의 기준 주 이전 기록 삭제 (주간 초기화 청크 단위)
+   * @return 삭제된 행 수 (GateCompletion + WeeklyCompletion)
+   */
+  public int deleteCharacterWeeksBefore(long fromIdExclusive, long toIdInclusive, LocalDateTime weekStart) {
+    Timestamp week = Timestamp.valueOf(weekStart);
+    int gateCount = jdbcTemplate.update(
+            "DELETE gc FROM gate_completions gc " +
+            "JOIN weekly_completions wc ON wc.id = gc.weekly_completion_id " +
+            "WHERE wc.character_id > ? AND wc.character_id <= ? AND wc.week_start < ?",
+            fromIdExclusive, toIdInclusive, week);
+    int weeklyCount = jdbcTemplate.update(
+            "DELETE FROM weekly_completions " +
+            "WHERE character_id > ? AND character_id <= ? AND week_start < ?",
+            fromIdExclusive, toIdInclusive, week);
+    return gateCount + weeklyCount;
+  }
+
+  // 기준 주 이전 공격대 완료 기록 삭제 (참여 캐릭터 먼저)
+  public int deletePartyCompletionsBefore(LocalDateTime weekStart) {
+    Timestamp week = Timestamp.valueOf(weekStart);
+    jdbcTemplate.update(
+            "DELETE FROM party_completion_members WHERE week_start < ?", week);
+    return jdbcTemplate.update(
+            "DELETE FROM party_completions WHERE week_start < ?", week);
+  }
+}
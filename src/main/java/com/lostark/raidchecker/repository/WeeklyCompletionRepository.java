@@ -9,8 +9,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 @Repository
 public interface WeeklyCompletionRepository extends JpaRepository<WeeklyCompletion, Long> {
@@ -20,6 +20,40 @@ public interface WeeklyCompletionRepository extends JpaRepository<WeeklyCompleti
 
   List<WeeklyCompletion> findByCharacterIdAndWeekStart(Long characterId, LocalDateTime weekStart);
 
-  @Query("SELECT wc FROM WeeklyCompletion wc WHERE wc.character.id = :characterId AND wc.weekStart = (SELECT MAX(w.weekStart) FROM WeeklyCompletion w WHERE w.character.id = :characterId)")
-  Optional<WeeklyCompletion> findByCharacterIdAndCurrentWeek(@Param("characterId") Long characterId);
+  // 주간 완료 표시된 [캐릭터 ID, 레이드 ID] (주간 공격대 계획용)
+  @Query("SELECT wc.character.id, wc.raid.id FROM WeeklyCompletion wc " +
+          "WHERE wc.weekStart = :weekStart AND wc.completed = true")
+  List<Object[]> findCompletedCharacterRaidIdsByWeekStart(@Param("weekStart") LocalDateTime weekStart);
+
+  // ✅ 유저 캐릭터 전체 + 한 주 완료 기록 [캐릭터 ID, 캐릭터명, 아이템 레벨, 레이드 ID, 완료, 골드] (SQL 1회, 레이드 비교용)
+  // 기록이 없는 캐릭터도 레이드 ID 이후가 null인 행으로 포함된다
+  @Query("SELECT c.id, c.characterName, c.itemLevel, wc.raid.id, wc.completed, wc.earnedGold FROM Character c " +
+          "LEFT JOIN WeeklyCompletion wc ON wc.character = c AND wc.weekStart = :weekStart " +
+          "WHERE c.user.id = :userId ORDER BY c.id")
+  List<Object[]> findRaidComparisonRows(@Param("userId") Long userId, @Param("weekStart") LocalDateTime weekStart);
+
+  // ✅ 캐릭터 한 주의 기록 + 관문 완료 기록 (SQL 1회)
+  @Query("SELECT DISTINCT wc FROM WeeklyCompletion wc LEFT JOIN FETCH wc.gateCompletions " +
+          "WHERE wc.character.id = :characterId AND wc.weekStart = :weekStart")
+  List<WeeklyCompletion> findWithGatesByCharacterIdAndWeekStart(@Param("characterId") Long characterId,
+                                                                @Param("weekStart") LocalDateTime weekStart);
+
+  // ✅ 여러 캐릭터의 한 주 기록 + 관문 완료 기록 (SQL 1회, 일괄 처리용)
+  @Query("SELECT DISTINCT wc FROM WeeklyCompletion wc LEFT JOIN FETCH wc.gateCompletions " +
+          "WHERE wc.character.id IN :characterIds AND wc.weekStart = :weekStart")
+  List<WeeklyCompletion> findWithGatesByCharacterIdInAndWeekStart(@Param("characterIds") Collection<Long> characterIds,
+                                                                  @Param("weekStart") LocalDateTime weekStart);
+
+  // ✅ 관문 완료 기록이 속한 캐릭터/주의 기록 전체 + 관문 완료 기록 (SQL 1회, 관문 토글용)
+  @Query("SELECT DISTINCT wc FROM WeeklyCompletion wc LEFT JOIN FETCH wc.gateCompletions " +
+          "WHERE EXISTS (SELECT g.id FROM GateCompletion g JOIN g.weeklyCompletion w " +
+          "              WHERE g.id = :gateCompletionId " +
+          "              AND w.character = wc.character AND w.weekStart = wc.weekStart)")
+  List<WeeklyCompletion> findWeekWithGatesByGateCompletionId(@Param("gateCompletionId") Long gateCompletionId);
+
+  // 기록이 있는 주 목록 (최신순, 화요일에 미리 만든 다음 주 체크리스트는 제외)
+  @Query("SELECT DISTINCT wc.weekStart FROM WeeklyCompletion wc " +
+          "WHERE wc.character.id = :characterId AND wc.weekStart <= :currentWeek ORDER BY wc.weekStart DESC")
+  List<LocalDateTime> findWeekStartsByCharacterId(@Param("characterId") Long characterId,
+                                                  @Param("currentWeek") LocalDateTime currentWeek);
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.lostark.raidchecker.repository;
+
+import com.lostark.raidchecker.entity.WeeklyResetJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface WeeklyResetJobRepository extends JpaRepository<WeeklyResetJob, Long> {
+  Optional<WeeklyResetJob> findByWeekStart(LocalDateTime weekStart);
+
+  Optional<WeeklyResetJob> findTopByOrderByWeekStartDesc();
+}
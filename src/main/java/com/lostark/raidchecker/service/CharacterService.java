@@ -6,6 +6,7 @@ import com.lostark.raidchecker.entity.User;
 import com.lostark.raidchecker.repository.CharacterRepository;
 import com.lostark.raidchecker.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,6 +19,8 @@ public class CharacterService {
   private final CharacterRepository characterRepository;
   private final LostArkApiService lostArkApiService;
   private final UserRepository userRepository;
+  private final CompletionProjector completionProjector;
+  private final ApplicationEventPublisher eventPublisher;  // ✅ 캐시들은 커밋 후 RosterChangedEvent로 반영
 
   // 모든 캐릭터 조회
   public List<Character> getAllCharacters() {
@@ -41,7 +44,9 @@ public class CharacterService {
   public void deleteCharacter(Long id) {
     Character character = characterRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("캐릭터를 찾을 수 없습니다."));
+    completionProjector.removeCharacter(character.getId());
     characterRepository.delete(character);
+    eventPublisher.publishEvent(RosterChangedEvent.characterRemoved(character));
   }
 
   // 특정 유저의 캐릭터 조회
@@ -85,7 +90,9 @@ public class CharacterService {
     int currentCharacterCount = characterRepository.countByUser_Id(userId);
     character.setGoldPriority(currentCharacterCount + 1);
 
-    return characterRepository.save(character);
+    Character saved = characterRepository.save(character);
+    eventPublisher.publishEvent(RosterChangedEvent.characterUpdated(saved));
+    return saved;
   }
 
   /**
@@ -111,7 +118,9 @@ public class CharacterService {
     character.setItemLevel(Double.parseDouble(itemLevel));
     character.setGuildName(response.getGuildName());
 
-    return characterRepository.save(character);
+    Character saved = characterRepository.save(character);
+    eventPublisher.publishEvent(RosterChangedEvent.characterUpdated(saved));
+    return saved;
   }
 
   @Transactional
@@ -124,6 +133,8 @@ public class CharacterService {
     }
 
     character.setGoldPriority(goldPriority);
-    return characterRepository.save(character);
+    Character saved = characterRepository.save(character);
+    eventPublisher.publishEvent(RosterChangedEvent.characterUpdated(saved));
+    return saved;
   }
 }
\ No newline at end of file
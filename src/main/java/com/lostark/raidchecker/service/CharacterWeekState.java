@@ -0,0 +1,259 @@
+package com.lostark.raidchecker.service;
+
+import com.lostark.raidchecker.entity.GateCompletion;
+import com.lostark.raidchecker.entity.RaidGate;
+import com.lostark.raidchecker.entity.WeeklyCompletion;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * ✅ 캐릭터 한 주의 체크리스트 상태
+ * - startedGroups: 완료 표시된 레이드 그룹 비트 (골드 3그룹 제한 판단)
+ * - gateBits: 레이드별 완료 관문 비트 (같은 그룹 난이도 잠금 판단)
+ * - totalGold: 이번 주 획득 골드 합계
+ *
+ * 캐릭터의 주간 기록을 한 번 읽어 만들고, 골드 제한/같은 그룹 동기화/골드 합계를 여기서 계산한다.
+ * 변경은 로딩된 엔티티에 그대로 반영되어 트랜잭션 커밋 시 저장된다.
+ */
+public class CharacterWeekState {
+
+  // 주간 골드 획득 가능한 레이드 그룹 수
+  private static final int MAX_GOLD_GROUPS = 3;
+
+  private final RaidCatalog raidCatalog;
+  private final WeeklyCompletion[] completions;  // 레이드 번호 → 이번 주 기록 (없으면 null)
+  private final int[] gateBits;
+  private long startedGroups;
+  private long loadedStartedGroups;  // 로딩 시점의 startedGroups (변경 여부 판단)
+  private int totalGold;
+
+  private CharacterWeekState(RaidCatalog raidCatalog) {
+    this.raidCatalog = raidCatalog;
+    this.completions = new WeeklyCompletion[raidCatalog.getRaidCount()];
+    this.gateBits = new int[raidCatalog.getRaidCount()];
+  }
+
+  public static CharacterWeekState of(List<WeeklyCompletion> weeklyCompletions, RaidCatalog raidCatalog) {
+    CharacterWeekState state = new CharacterWeekState(raidCatalog);
+
+    for (WeeklyCompletion wc : weeklyCompletions) {
+      // getRaid().getId()는 프록시 초기화 없이 id만 읽는다 (레이드 정보는 카탈로그에서)
+      int raidIndex = raidCatalog.getRaidIndex(wc.getRaid().getId());
+      state.completions[raidIndex] = wc;
+
+      for (GateCompletion gc : wc.getGateCompletions()) {
+        if (gc.getCompleted()) {
+          state.gateBits[raidIndex] |= state.gateBit(gc);
+        }
+      }
+      if (wc.getCompleted()) {
+        state.startedGroups |= state.groupBit(raidIndex);
+      }
+      state.totalGold += wc.getEarnedGold();
+    }
+    state.loadedStartedGroups = state.startedGroups;
+
+    return state;
+  }
+
+  /**
+   * 이 레이드 그룹이 골드를 받을 수 있는지
+   * - 이미 시작한 그룹이면 → 계속 골드 가능
+   * - 아직 시작 안 했다면 → 다른 그룹이 3개 미만일 때만
+   */
+  public boolean canEarnGold(String raidGroup) {
+    long groupBit = 1L << raidCatalog.getGroupIndex(raidGroup);
+    return (startedGroups & groupBit) != 0 || Long.bitCount(startedGroups) < MAX_GOLD_GROUPS;
+  }
+
+  // 레이드 그룹 완료 여부 (관문 1개라도 완료 시 true)
+  public boolean isGroupStarted(String raidGroup) {
+    return (startedGroups & (1L << raidCatalog.getGroupIndex(raidGroup))) != 0;
+  }
+
+  public int getStartedGroupCount() {
+    return Long.bitCount(startedGroups);
+  }
+
+  public int getTotalGold() {
+    return totalGold;
+  }
+
+  // 완료 표시된 레이드 수 (같은 그룹의 다른 난이도 포함)
+  public int getCompletedRaidCount() {
+    int count = 0;
+    for (WeeklyCompletion wc : completions) {
+      if (wc != null && wc.getCompleted()) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  // 골드 획득 그룹 구성이 바뀌었는지 (새 그룹 시작 / 그룹 전체 취소)
+  public boolean isStartedGroupsChanged() {
+    return startedGroups != loadedStartedGroups;
+  }
+
+  /**
+   * 이 주의 기준 기록 (레이드 번호가 가장 작은 기록)
+   * 같은 캐릭터/주를 동시에 수정하는 트랜잭션이 항상 같은 행을 고르도록 한다.
+   */
+  public WeeklyCompletion getAnchorCompletion() {
+    for (WeeklyCompletion wc : completions) {
+      if (wc != null) {
+        return wc;
+      }
+    }
+    throw new RuntimeException("주간 기록이 없습니다.");
+  }
+
+  // 이 주의 관문 완료 기록 (id 기준)
+  public GateCompletion getGateCompletion(Long gateCompletionId) {
+    for (WeeklyCompletion wc : completions) {
+      if (wc == null) {
+        continue;
+      }
+      for (GateCompletion gc : wc.getGateCompletions()) {
+        if (gc.getId().equals(gateCompletionId)) {
+          return gc;
+        }
+      }
+    }
+    throw new RuntimeException("관문 완료 기록을 찾을 수 없습니다.");
+  }
+
+  // 이 주의 관문 완료 기록 (관문 기준, 체크리스트가 없으면 empty)
+  public Optional<GateCompletion> findGateCompletionByRaidGateId(Long raidGateId) {
+    WeeklyCompletion wc = completions[raidCatalog.getRaidIndex(raidCatalog.getGate(raidGateId).getRaid().getId())];
+    if (wc == null) {
+      return Optional.empty();
+    }
+    return wc.getGateCompletions().stream()
+            .filter(gc -> gc.getRaidGate().getId().equals(raidGateId))
+            .findFirst();
+  }
+
+  /**
+   * 관문 완료
+   * 골드 제한 확인 → 관문 골드 → 레이드 골드 합계 → 같은 그룹의 다른 난이도도 완료 표시
+   */
+  public void complete(GateCompletion gateCompletion, boolean extraReward) {
+    int raidIndex = raidIndexOf(gateCompletion);
+    RaidGate gate = raidCatalog.getGate(gateCompletion.getRaidGate().getId());
+    boolean canEarnGold = canEarnGold(raidCatalog.getRaids().get(raidIndex).getRaidGroup());
+
+    gateCompletion.setCompleted(true);
+    gateCompletion.setExtraReward(extraReward);
+
+    int earnedGold = 0;
+    if (canEarnGold) {
+      earnedGold = gate.getRewardGold();
+      if (extraReward) {
+        earnedGold -= gate.getExtraCost();
+      }
+    }
+    gateCompletion.setEarnedGold(earnedGold);
+    gateBits[raidIndex] |= gateBit(gateCompletion);
+
+    refreshCompletion(raidIndex);
+
+    // 한 난이도를 클리어하면 다른 난이도는 할 수 없으므로 같은 그룹 전체를 완료 표시
+    for (int sibling : groupRaidIndexes(raidIndex)) {
+      WeeklyCompletion wc = completions[sibling];
+      if (wc != null && !wc.getCompleted()) {
+        wc.setCompleted(true);
+      }
+    }
+    startedGroups |= groupBit(raidIndex);
+  }
+
+  /**
+   * 관문 완료 취소 (필드만 초기화)
+   * 같은 그룹에 남은 완료 관문이 없으면 그룹 전체를 미완료로,
+   * 남아 있으면 실제 완료한 난이도의 골드를 다른 난이도에 동기화
+   */
+  public void uncomplete(GateCompletion gateCompletion) {
+    int raidIndex = raidIndexOf(gateCompletion);
+
+    gateCompletion.setCompleted(false);
+    gateCompletion.setExtraReward(false);
+    gateCompletion.setEarnedGold(0);
+    gateBits[raidIndex] &= ~gateBit(gateCompletion);
+
+    refreshCompletion(raidIndex);
+
+    int[] groupRaids = groupRaidIndexes(raidIndex);
+    int actualCompleted = -1;
+    for (int sibling : groupRaids) {
+      if (completions[sibling] != null && gateBits[sibling] != 0) {
+        actualCompleted = sibling;
+        break;
+      }
+    }
+
+    if (actualCompleted < 0) {
+      // 모든 관문이 미완료 상태라면 모든 난이도를 미완료로 설정
+      for (int sibling : groupRaids) {
+        WeeklyCompletion wc = completions[sibling];
+        if (wc != null && wc.getCompleted()) {
+          wc.setCompleted(false);
+          setEarnedGold(wc, 0);
+        }
+      }
+      startedGroups &= ~groupBit(raidIndex);
+    } else {
+      int actualGold = completions[actualCompleted].getEarnedGold();
+      for (int sibling : groupRaids) {
+        WeeklyCompletion wc = completions[sibling];
+        if (wc == null || sibling == actualCompleted) {
+          continue; // 실제 완료한 난이도는 이미 업데이트됨
+        }
+        wc.setCompleted(true);
+        setEarnedGold(wc, actualGold);
+      }
+    }
+  }
+
+  // 레이드 완료 여부 (관문 1개라도 완료) + 완료 관문 골드 합계
+  private void refreshCompletion(int raidIndex) {
+    WeeklyCompletion wc = completions[raidIndex];
+    wc.setCompleted(gateBits[raidIndex] != 0);
+
+    int gold = 0;
+    for (GateCompletion gc : wc.getGateCompletions()) {
+      if (gc.getCompleted()) {
+        gold += gc.getEarnedGold();
+      }
+    }
+    setEarnedGold(wc, gold);
+  }
+
+  private void setEarnedGold(WeeklyCompletion wc, int gold) {
+    totalGold += gold - wc.getEarnedGold();
+    wc.setEarnedGold(gold);
+  }
+
+  private int raidIndexOf(GateCompletion gateCompletion) {
+    WeeklyCompletion wc = gateCompletion.getWeeklyCompletion();
+    int raidIndex = raidCatalog.getRaidIndex(wc.getRaid().getId());
+    if (completions[raidIndex] == null || !completions[raidIndex].getId().equals(wc.getId())) {
+      throw new RuntimeException("관문 완료 기록이 이 캐릭터의 주간 기록에 없습니다.");
+    }
+    return raidIndex;
+  }
+
+  private int gateBit(GateCompletion gateCompletion) {
+    return 1 << raidCatalog.getGate(gateCompletion.getRaidGate().getId()).getGateNumber();
+  }
+
+  private long groupBit(int raidIndex) {
+    return 1L << raidCatalog.getGroupIndex(raidCatalog.getRaids().get(raidIndex).getRaidGroup());
+  }
+
+  private int[] groupRaidIndexes(int raidIndex) {
+    return raidCatalog.getRaidIndexesInGroup(
+            raidCatalog.getGroupIndex(raidCatalog.getRaids().get(raidIndex).getRaidGroup()));
+  }
+}
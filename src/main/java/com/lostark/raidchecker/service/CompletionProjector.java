@@ -0,0 +1,186 @@
+package com.lostark.raidchecker.service;
+
+import com.lostark.raidchecker.dto.ProjectionReconcileResultDTO;
+import com.lostark.raidchecker.entity.CharacterWeekSummary;
+import com.lostark.raidchecker.entity.GateCompletionEvent;
+import com.lostark.raidchecker.entity.UserWeekSummary;
+import com.lostark.raidchecker.repository.CharacterWeekSummaryRepository;
+import com.lostark.raidchecker.repository.CompletionProjectionRepository;
+import com.lostark.raidchecker.repository.CompletionProjectionRepository.Counters;
+import com.lostark.raidchecker.repository.GateCompletionEventRepository;
+import com.lostark.raidchecker.repository.UserWeekSummaryRepository;
+import com.lostark.raidchecker.util.WeeklyResetUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * ✅ 관문 완료 이벤트 기록 + 주간 집계 프로젝션
+ * 관문 토글은 GateCompletionEvent를 추가하고, 이벤트의 골드/관문 증감을
+ * 캐릭터/유저 주간 집계(character_week_summaries, user_week_summaries)에 바로 더한다.
+ * 집계는 언제든 이벤트를 다시 적용해 재생성할 수 있고 (replayWeek),
+ * 매일 원본 기록과 대사해 어긋난 만큼 보정한다 (reconcileWeek).
+ */
+@Service
+@RequiredArgsConstructor
+public class CompletionProjector {
+
+  private final GateCompletionEventRepository gateCompletionEventRepository;
+  private final CompletionProjectionRepository completionProjectionRepository;
+  private final CharacterWeekSummaryRepository characterWeekSummaryRepository;
+  private final UserWeekSummaryRepository userWeekSummaryRepository;
+  private final UserDashboardStore userDashboardStore;
+
+  /**
+   * 이벤트 기록 + 집계 반영 (호출한 트랜잭션 안에서)
+   * 같은 캐릭터/주의 이벤트는 증감을 합쳐서 한 번만 반영한다.
+   */
+  public void record(List<GateCompletionEvent> events) {
+    if (events.isEmpty()) {
+      return;
+    }
+    gateCompletionEventRepository.saveAll(events);
+
+    Map<List<Object>, List<GateCompletionEvent>> byCharacterWeek = events.stream()
+            .collect(Collectors.groupingBy(e -> List.of(e.getCharacterId(), e.getWeekStart()),
+                    LinkedHashMap::new, Collectors.toList()));
+
+    byCharacterWeek.values().forEach(characterEvents -> {
+      GateCompletionEvent first = characterEvents.get(0);
+      Counters delta = new Counters(
+              characterEvents.stream().mapToInt(GateCompletionEvent::getGoldDelta).sum(),
+              characterEvents.stream().mapToInt(GateCompletionEvent::getGateDelta).sum(),
+              characterEvents.stream().mapToInt(GateCompletionEvent::getRaidDelta).sum(),
+              characterEvents.stream().mapToInt(GateCompletionEvent::getGroupDelta).sum());
+      userDashboardStore.completionsChanged(first.getCharacterId(), first.getWeekStart(), delta);  // ✅ 커밋 후 대시보드 반영
+      if (delta.isZero()) {
+        return;
+      }
+      completionProjectionRepository.addToCharacterWeek(first.getCharacterId(), first.getWeekStart(), delta);
+      completionProjectionRepository.addToUserWeek(first.getCharacterId(), first.getWeekStart(), delta);
+    });
+  }
+
+  // 캐릭터 주간 골드 (집계 행 1개 조회)
+  public int getCharacterWeekGold(Long characterId, LocalDateTime weekStart) {
+    return characterWeekSummaryRepository.findByCharacterIdAndWeekStart(characterId, weekStart)
+            .map(CharacterWeekSummary::getEarnedGold)
+            .orElse(0);
+  }
+
+  // 유저 주간 골드 (집계 행 1개 조회)
+  public int getUserWeekGold(Long userId, LocalDateTime weekStart) {
+    return userWeekSummaryRepository.findByUserIdAndWeekStart(userId, weekStart)
+            .map(UserWeekSummary::getEarnedGold)
+            .orElse(0);
+  }
+
+  // 주간 캐릭터 집계 전체 (캐릭터 id → 집계)
+  public Map<Long, CharacterWeekSummary> getCharacterWeekSummaries(LocalDateTime weekStart) {
+    return characterWeekSummaryRepository.findByWeekStart(weekStart).stream()
+            .collect(Collectors.toMap(CharacterWeekSummary::getCharacterId, summary -> summary));
+  }
+
+  // 주간 유저 집계 전체 (유저 id → 집계)
+  public Map<Long, UserWeekSummary> getUserWeekSummaries(LocalDateTime weekStart) {
+    return userWeekSummaryRepository.findByWeekStart(weekStart).stream()
+            .collect(Collectors.toMap(UserWeekSummary::getUserId, summary -> summary));
+  }
+
+  /**
+   * 특정 주의 집계를 이벤트로 재생성
+   * 그 주에 이벤트가 하나도 없으면 원본 기록으로 SNAPSHOT 이벤트를 먼저 만든다 (이벤트 기록 도입 전 주).
+   */
+  @Transactional
+  public void replayWeek(LocalDateTime weekStart) {
+    if (!gateCompletionEventRepository.existsByWeekStart(weekStart)) {
+      completionProjectionRepository.insertSnapshotEvents(weekStart, WeeklyResetUtil.getCurrentKoreanTime());
+    }
+    completionProjectionRepository.rebuildWeek(weekStart);
+    userDashboardStore.clear();
+  }
+
+  /**
+   * 서버 시작 시 이번 주 집계 준비
+   * - 이벤트가 없으면 집계 초기화 (배포 직후 주 중간에 이미 완료한 기록이 집계에 반영되도록)
+   * - 원본 기록과 대사 (집계 컬럼이 추가된 직후 등)
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional
+  public void initializeCurrentWeek() {
+    LocalDateTime weekStart = WeeklyResetUtil.getCurrentWeekStart();
+    if (!gateCompletionEventRepository.existsByWeekStart(weekStart)) {
+      replayWeek(weekStart);
+    }
+    reconcileWeek(weekStart);
+  }
+
+  /**
+   * ✅ 집계 대사 (매일 새벽)
+   * 원본 기록(weekly/gate_completions)으로 캐릭터별 합계를 다시 계산해 집계와 비교하고,
+   * 다르면 차이만큼 RECONCILE 이벤트를 추가해 맞춘다 (이벤트 재적용 결과도 함께 맞춰짐).
+   * 유저 집계가 캐릭터 집계 합계와 다르면 유저 집계만 재생성한다.
+   */
+  @Scheduled(cron = "${raidchecker.projection.reconcile-cron:0 30 5 * * *}", zone = "Asia/Seoul")
+  @Transactional
+  public ProjectionReconcileResultDTO reconcileCurrentWeek() {
+    return reconcileWeek(WeeklyResetUtil.getCurrentWeekStart());
+  }
+
+  @Transactional
+  public ProjectionReconcileResultDTO reconcileWeek(LocalDateTime weekStart) {
+    Map<Long, Counters> raw = completionProjectionRepository.findRawCharacterWeekTotals(weekStart);
+    Map<Long, Counters> projected = completionProjectionRepository.findCharacterWeekSummaries(weekStart);
+
+    Set<Long> characterIds = new HashSet<>(raw.keySet());
+    characterIds.addAll(projected.keySet());
+
+    List<GateCompletionEvent> corrections = new ArrayList<>();
+    for (Long characterId : characterIds) {
+      Counters diff = raw.getOrDefault(characterId, Counters.ZERO)
+              .minus(projected.getOrDefault(characterId, Counters.ZERO));
+      if (!diff.isZero()) {
+        corrections.add(new GateCompletionEvent(characterId, weekStart, null, GateCompletionEvent.RECONCILE,
+                false, diff.gold(), diff.gates(), diff.raids(), diff.groups()));
+      }
+    }
+    record(corrections);
+
+    int mismatchedUsers = completionProjectionRepository.countUserWeekMismatches(weekStart);
+    if (mismatchedUsers > 0) {
+      completionProjectionRepository.rebuildUserWeek(weekStart);
+    }
+
+    ProjectionReconcileResultDTO result = new ProjectionReconcileResultDTO();
+    result.setWeekStart(weekStart);
+    result.setCheckedCharacters(characterIds.size());
+    result.setCorrectedCharacters(corrections.size());
+    result.setMismatchedUsers(mismatchedUsers);
+    result.setCheckedAt(WeeklyResetUtil.getCurrentKoreanTime());
+
+    if (!corrections.isEmpty() || mismatchedUsers > 0) {
+      System.out.println("⚠️ 주간 집계 보정: " + weekStart + " - 캐릭터 " + corrections.size() + "명, 유저 " + mismatchedUsers + "명");
+    }
+    return result;
+  }
+
+  // 캐릭터 삭제 전 호출 (유저 집계에서 제외)
+  public void removeCharacter(Long characterId) {
+    completionProjectionRepository.removeCharacter(characterId);
+  }
+
+  public void deleteWeek(LocalDateTime weekStart) {
+    completionProjectionRepository.deleteWeek(weekStart);
+  }
+
+  public int deleteBefore(LocalDateTime weekStart) {
+    return completionProjectionRepository.deleteBefore(weekStart);
+  }
+}
@@ -0,0 +1,70 @@
+package com.lostark.raidchecker.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * ✅ 동시 수정 충돌 재시도
+ * 체크리스트 변경은 @Version 낙관적 잠금으로 충돌을 감지한다 (행 잠금으로 직렬화하지 않음).
+ * 충돌하면 트랜잭션 전체를 처음부터 다시 실행해야 하므로 반드시 트랜잭션 밖(컨트롤러)에서 호출한다.
+ */
+@Component
+public class ConcurrencyRetry {
+
+  // TiDB write conflict, MySQL deadlock
+  private static final Set<Integer> RETRYABLE_ERROR_CODES = Set.of(9007, 1213);
+  // serialization failure
+  private static final String RETRYABLE_SQL_STATE = "40001";
+
+  @Value("${raidchecker.retry.max-attempts:4}")
+  private int maxAttempts;
+
+  // 첫 재시도 대기 시간 (재시도마다 2배, 지터 포함)
+  @Value("${raidchecker.retry.backoff-ms:20}")
+  private long backoffMillis;
+
+  public <T> T execute(Supplier<T> action) {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return action.get();
+      } catch (RuntimeException e) {
+        if (attempt >= maxAttempts || !isRetryable(e)) {
+          throw e;
+        }
+        backoff(attempt);
+      }
+    }
+  }
+
+  private void backoff(int attempt) {
+    long max = backoffMillis << (attempt - 1);
+    try {
+      Thread.sleep(ThreadLocalRandom.current().nextLong(max / 2, max + 1));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("재시도 대기 중 중단되었습니다.", e);
+    }
+  }
+
+  static boolean isRetryable(Throwable e) {
+    for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+      // 동시에 같은 체크리스트를 생성한 경우 (유니크 제약) → 재시도하면 이미 생성된 기록을 사용
+      if (cause instanceof ConcurrencyFailureException || cause instanceof DuplicateKeyException) {
+        return true;
+      }
+      if (cause instanceof SQLException sqlException
+              && (RETRYABLE_ERROR_CODES.contains(sqlException.getErrorCode())
+              || RETRYABLE_SQL_STATE.equals(sqlException.getSQLState()))) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
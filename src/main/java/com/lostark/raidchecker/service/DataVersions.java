@@ -0,0 +1,108 @@
+package com.lostark.raidchecker.service;
+
+import com.lostark.raidchecker.entity.Character;
+import com.lostark.raidchecker.util.TransactionUtil;
+import com.lostark.raidchecker.util.WeeklyResetUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ✅ 유저/캐릭터별 데이터 버전 (조회 API의 ETag)
+ * 변경이 커밋된 뒤 캐릭터와 그 유저의 버전을 올린다. 버전은 하나의 증가 번호에서 받으므로 되돌아가지 않는다.
+ * ETag = 서버 시작 시각 + 전체 세대 + 버전 + 이번 주 시작일
+ * (재시작, 주간 데이터 초기화/주간 작업, 주가 바뀌는 경우에도 예전 ETag와 겹치지 않음)
+ * 조회 쪽은 메모리만 보므로 ETag가 같으면 DB 조회 없이 304를 응답할 수 있다.
+ */
+@Component
+@RequiredArgsConstructor
+public class DataVersions {
+
+  private static final DateTimeFormatter WEEK_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+
+  private final RosterSnapshotHolder rosterSnapshotHolder;
+
+  private final long bootId = System.currentTimeMillis();
+  private final AtomicLong sequence = new AtomicLong();
+  private final Map<Long, Long> userVersions = new ConcurrentHashMap<>();
+  private final Map<Long, Long> characterVersions = new ConcurrentHashMap<>();
+  private volatile long generation;
+
+  public String userETag(Long userId) {
+    return eTag(userVersions.getOrDefault(userId, 0L));
+  }
+
+  public String characterETag(Long characterId) {
+    return eTag(characterVersions.getOrDefault(characterId, 0L));
+  }
+
+  // 전체 유저 대상 조회 (어떤 변경이든 바뀜)
+  public String allETag() {
+    return eTag(sequence.get());
+  }
+
+  // 체크리스트 생성 등 캐릭터 1명 변경
+  public void characterChanged(Character character) {
+    Long userId = character.getUser() != null ? character.getUser().getId() : null;
+    Long characterId = character.getId();
+    TransactionUtil.afterCommit(() -> bumpCharacter(characterId, userId));
+  }
+
+  // 캐릭터/유저 변경, 이번 주 데이터 초기화 (커밋 후, 기본 순서라 캐시 리스너보다 나중)
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void rosterChanged(RosterChangedEvent event) {
+    switch (event.type()) {
+      case CHARACTER_UPDATED, CHARACTER_REMOVED -> bumpCharacter(event.characterId(), event.userId());
+      case USER_REMOVED -> bump(userVersions, event.userId());
+      case WEEK_RESET -> generation = sequence.incrementAndGet();
+    }
+  }
+
+  // 관문/공격대 완료 (유저는 로스터 스냅샷에서 찾는다)
+  public void charactersChanged(Collection<Long> characterIds) {
+    if (characterIds.isEmpty()) {
+      return;
+    }
+    List<Long> ids = List.copyOf(characterIds);
+    TransactionUtil.afterCommit(() -> {
+      RosterSnapshot roster = rosterSnapshotHolder.get();
+      for (Long characterId : ids) {
+        bump(characterVersions, characterId);
+        Long userId = roster.getUserIdOf(characterId);
+        if (userId != null) {
+          bump(userVersions, userId);
+        }
+      }
+    });
+  }
+
+  // 주간 작업 (모든 ETag 변경)
+  public void allChanged() {
+    TransactionUtil.afterCommit(() -> generation = sequence.incrementAndGet());
+  }
+
+  private void bumpCharacter(Long characterId, Long userId) {
+    bump(characterVersions, characterId);
+    if (userId != null) {
+      bump(userVersions, userId);
+    }
+  }
+
+  // 동시에 올려도 큰 번호가 남도록
+  private void bump(Map<Long, Long> versions, Long id) {
+    versions.merge(id, sequence.incrementAndGet(), Math::max);
+  }
+
+  private String eTag(long version) {
+    return "\"" + bootId + "-" + generation + "-" + version + "-"
+            + WeeklyResetUtil.getCurrentWeekStart().format(WEEK_FORMAT) + "\"";
+  }
+}
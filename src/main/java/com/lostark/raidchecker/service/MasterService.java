@@ -2,19 +2,32 @@ package com.lostark.raidchecker.service;
 
 import com.lostark.raidchecker.dto.SystemStatsDTO;
 import com.lostark.raidchecker.dto.UserStatsDTO;
+import com.lostark.raidchecker.dto.UserStatsPageDTO;
 import com.lostark.raidchecker.dto.PartyCompletionDTO;
-import com.lostark.raidchecker.entity.PartyCompletion;
+import com.lostark.raidchecker.dto.PartyCompletionPageDTO;
+import com.lostark.raidchecker.dto.ProjectionReconcileResultDTO;
+import com.lostark.raidchecker.dto.ResetJobProgressDTO;
+import com.lostark.raidchecker.entity.Raid;
 import com.lostark.raidchecker.entity.User;
 import com.lostark.raidchecker.entity.Character;
 import com.lostark.raidchecker.repository.*;
+import com.lostark.raidchecker.util.WeeklyResetUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,9 +40,18 @@ public class MasterService {
   private final WeeklyCompletionRepository weeklyCompletionRepository;
   private final GateCompletionRepository gateCompletionRepository;
   private final PartyCompletionRepository partyCompletionRepository;
-  private final WeeklyCompletionService weeklyCompletionService;
+  private final WeeklyChecklistBulkRepository weeklyChecklistBulkRepository;
+  private final WeeklyResetJobService weeklyResetJobService;
+  private final CompletionProjector completionProjector;
   private final CharacterService characterService;  // ✅ 추가
+  private final ApplicationEventPublisher eventPublisher;  // ✅ 캐시들은 커밋 후 RosterChangedEvent로 반영
   private final PasswordEncoder passwordEncoder;
+  private final UserStatsRepository userStatsRepository;
+  private final RaidCatalog raidCatalog;
+
+  private static final int MAX_PAGE_SIZE = 200;
+  // 생성일이 없는 유저의 정렬 값 (UserStatsRepository.Sort.CREATED와 같은 값)
+  private static final LocalDateTime NO_CREATED_AT = LocalDateTime.of(1970, 1, 1, 0, 0);
 
   /**
    * Master 권한 확인
@@ -44,37 +66,28 @@ public class MasterService {
   }
 
   /**
-   * 전체 사용자 + 통계 조회
+   * 전체 사용자 + 통계 조회 (페이지)
+   * ✅ 유저 + 캐릭터 수 + 이번 주 유저 주간 집계를 GROUP BY 쿼리 1회로, (정렬 값, 유저 ID) keyset 페이지
+   * @param cursor 이전 응답의 nextCursor (첫 페이지는 null)
    */
-  public List<UserStatsDTO> getAllUsersWithStats() {
-    List<User> users = userRepository.findAll();
-
-    return users.stream().map(user -> {
-      UserStatsDTO dto = new UserStatsDTO();
-      dto.setId(user.getId());
-      dto.setUsername(user.getUsername());
-      dto.setCreatedAt(user.getCreatedAt());
-
-      // 캐릭터 수
-      int characterCount = characterRepository.countByUser_Id(user.getId());
-      dto.setCharacterCount(characterCount);
-
-      // 이번 주 총 골드 (모든 캐릭터 합산)
-      int totalWeeklyGold = 0;
-      List<Character> characters = characterRepository.findByUser_Id(user.getId());
-
-      for (Character character : characters) {
-        try {
-          Integer gold = weeklyCompletionService.getTotalEarnedGold(character.getId());
-          totalWeeklyGold += (gold != null ? gold : 0);
-        } catch (Exception e) {
-          // 에러 무시하고 계속 진행
-        }
-      }
-      dto.setWeeklyGold(totalWeeklyGold);
+  public UserStatsPageDTO getUsersWithStats(UserStatsRepository.Sort sort, String cursor, int size) {
+    PageCursor<Object> after = parsePageCursor(cursor, size, value -> sort == UserStatsRepository.Sort.CREATED
+            ? Timestamp.valueOf(LocalDateTime.parse(value))
+            : Long.parseLong(value));
 
-      return dto;
-    }).collect(Collectors.toList());
+    List<UserStatsDTO> users = userStatsRepository.findPage(
+            WeeklyResetUtil.getCurrentWeekStart(), sort, after.value(), after.id(), size);
+
+    String nextCursor = null;
+    if (users.size() == size) {
+      UserStatsDTO last = users.get(users.size() - 1);
+      nextCursor = switch (sort) {
+        case GOLD -> last.getWeeklyGold() + "_" + last.getId();
+        case CHARACTERS -> last.getCharacterCount() + "_" + last.getId();
+        case CREATED -> (last.getCreatedAt() != null ? last.getCreatedAt() : NO_CREATED_AT) + "_" + last.getId();
+      };
+    }
+    return new UserStatsPageDTO(users, nextCursor);
   }
 
   /**
@@ -92,37 +105,61 @@ public class MasterService {
   }
 
   /**
-   * 전체 공격대 완료 목록 조회
+   * 공격대 완료 목록 조회 (최신순 페이지)
+   * ✅ (완료 시각, id) keyset 페이지 1회 + 참여 캐릭터 1회 + 캐릭터 이름 IN 1회, 레이드는 RaidCatalog
+   * 필터: weekStart(주), raidId(레이드), userId(그 유저의 캐릭터가 참여한 기록), null이면 적용하지 않음
+   * @param cursor 이전 응답의 nextCursor (첫 페이지는 null)
    */
-  public List<PartyCompletionDTO> getAllPartyCompletions() {
-    List<PartyCompletion> completions = partyCompletionRepository.findAllByOrderByCompletedAtDesc();
+  public PartyCompletionPageDTO getPartyCompletions(LocalDateTime weekStart, Long raidId, Long userId,
+                                                    String cursor, int size) {
+    PageCursor<LocalDateTime> after = parsePageCursor(cursor, size, LocalDateTime::parse);
+
+    List<Object[]> rows = partyCompletionRepository.findPageRows(
+            weekStart, raidId, userId, after.value(), after.id(), PageRequest.of(0, size));
+    if (rows.isEmpty()) {
+      return new PartyCompletionPageDTO(List.of(), null);
+    }
+
+    // 참여 캐릭터 ID (기록별, 참여 순)
+    Map<Long, List<Long>> memberIdsByCompletion = new HashMap<>();
+    for (Object[] member : partyCompletionRepository.findMemberRowsByPartyCompletionIdIn(
+            rows.stream().map(row -> (Long) row[0]).toList())) {
+      memberIdsByCompletion.computeIfAbsent((Long) member[0], id -> new ArrayList<>()).add((Long) member[1]);
+    }
+
+    // 참여 캐릭터 이름 한 번에 조회
+    Set<Long> allCharacterIds = memberIdsByCompletion.values().stream()
+            .flatMap(List::stream)
+            .collect(Collectors.toSet());
+    Map<Long, String> characterNameById = characterRepository.findAllById(allCharacterIds).stream()
+            .collect(Collectors.toMap(Character::getId, Character::getCharacterName));
+
+    List<PartyCompletionDTO> completions = rows.stream().map(row -> {
+      Raid raid = raidCatalog.getRaid((Long) row[1]);
 
-    return completions.stream().map(pc -> {
       PartyCompletionDTO dto = new PartyCompletionDTO();
-      dto.setId(pc.getId());
-      dto.setRaidName(pc.getRaid().getRaidName() + " " + pc.getRaid().getDifficulty());
-      dto.setExtraReward(pc.getExtraReward());
-      dto.setCompletedAt(pc.getCompletedAt());
-      dto.setWeekStart(pc.getWeekStart());
-
-      // characterIds를 파싱하여 캐릭터 이름 가져오기
-      List<String> characterNames = new ArrayList<>();
-      if (pc.getCharacterIds() != null && !pc.getCharacterIds().isEmpty()) {
-        List<Long> charIds = Arrays.stream(pc.getCharacterIds().split(","))
-                .map(String::trim)
-                .map(Long::parseLong)
-                .collect(Collectors.toList());
-
-        for (Long charId : charIds) {
-          characterRepository.findById(charId).ifPresent(c ->
-                  characterNames.add(c.getCharacterName())
-          );
-        }
-      }
+      dto.setId((Long) row[0]);
+      dto.setRaidName(raid.getRaidName() + " " + raid.getDifficulty());
+      dto.setExtraReward((Boolean) row[2]);
+      dto.setCompletedAt((LocalDateTime) row[3]);
+      dto.setWeekStart((LocalDateTime) row[4]);
+
+      // 삭제된 캐릭터는 제외
+      List<String> characterNames = memberIdsByCompletion.getOrDefault(dto.getId(), List.of()).stream()
+              .map(characterNameById::get)
+              .filter(Objects::nonNull)
+              .collect(Collectors.toList());
       dto.setCharacterNames(characterNames);
 
       return dto;
     }).collect(Collectors.toList());
+
+    String nextCursor = null;
+    if (completions.size() == size) {
+      PartyCompletionDTO last = completions.get(completions.size() - 1);
+      nextCursor = last.getCompletedAt() + "_" + last.getId();
+    }
+    return new PartyCompletionPageDTO(completions, nextCursor);
   }
 
   /**
@@ -159,17 +196,48 @@ public class MasterService {
     }
 
     userRepository.delete(user);
+    eventPublisher.publishEvent(RosterChangedEvent.userRemoved(userId));
   }
 
   /**
-   * 전체 주간 데이터 초기화
+   * 이번 주 데이터 초기화 (지난 주 기록은 유지)
    */
   @Transactional
   public void resetAllWeeklyData() {
-    // 순서 중요! (FK 제약 조건)
-    partyCompletionRepository.deleteAll();
-    gateCompletionRepository.deleteAll();
-    weeklyCompletionRepository.deleteAll();
+    LocalDateTime weekStart = WeeklyResetUtil.getCurrentWeekStart();
+    weeklyChecklistBulkRepository.deleteWeek(weekStart);
+    completionProjector.deleteWeek(weekStart);
+    eventPublisher.publishEvent(RosterChangedEvent.weekReset());
+  }
+
+  /**
+   * 주간 집계 대사 (원본 기록과 비교해 보정, weekStart가 없으면 이번 주)
+   */
+  @Transactional
+  public ProjectionReconcileResultDTO reconcileCompletionProjection(LocalDateTime weekStart) {
+    return completionProjector.reconcileWeek(weekStart != null ? weekStart : WeeklyResetUtil.getCurrentWeekStart());
+  }
+
+  /**
+   * 주간 집계를 이벤트 기록으로 재생성 (weekStart가 없으면 이번 주)
+   */
+  @Transactional
+  public void replayCompletionProjection(LocalDateTime weekStart) {
+    completionProjector.replayWeek(weekStart != null ? weekStart : WeeklyResetUtil.getCurrentWeekStart());
+  }
+
+  /**
+   * 주간 초기화 작업 진행 상황
+   */
+  public ResetJobProgressDTO getResetJobProgress() {
+    return weeklyResetJobService.getProgress();
+  }
+
+  /**
+   * 이번 주 초기화 작업 시작/재개 (이미 실행 중이면 false)
+   */
+  public boolean runResetJob() {
+    return weeklyResetJobService.startOrResume(WeeklyResetUtil.getCurrentWeekStart());
   }
 
   /**
@@ -184,4 +252,28 @@ public class MasterService {
     user.setPassword(passwordEncoder.encode(newPassword));
     userRepository.save(user);
   }
-}
\ No newline at end of file
+
+  // keyset 페이지 커서 "정렬 값_ID" (첫 페이지는 값/ID 모두 null)
+  private record PageCursor<T>(T value, Long id) {
+  }
+
+  /**
+   * 페이지 크기 확인 + 이전 응답의 nextCursor 해석
+   * @param parseValue 정렬 값 문자열 → 쿼리 파라미터 (잘못된 값이면 RuntimeException)
+   */
+  private static <T> PageCursor<T> parsePageCursor(String cursor, int size, Function<String, T> parseValue) {
+    if (size < 1 || size > MAX_PAGE_SIZE) {
+      throw new RuntimeException("size는 1~" + MAX_PAGE_SIZE + " 사이여야 합니다.");
+    }
+    if (cursor == null || cursor.isBlank()) {
+      return new PageCursor<>(null, null);
+    }
+    try {
+      int separator = cursor.lastIndexOf('_');
+      return new PageCursor<>(parseValue.apply(cursor.substring(0, separator)),
+              Long.parseLong(cursor.substring(separator + 1)));
+    } catch (RuntimeException e) {
+      throw new RuntimeException("잘못된 페이지 커서입니다.");
+    }
+  }
+}
@@ -0,0 +1,255 @@
+package com.lostark.raidchecker.service;
+
+import com.lostark.raidchecker.entity.Character;
+import com.lostark.raidchecker.entity.PartyCompletion;
+import com.lostark.raidchecker.entity.Raid;
+import com.lostark.raidchecker.repository.PartyCompletionMemberRepository;
+import com.lostark.raidchecker.util.TransactionUtil;
+import com.lostark.raidchecker.util.WeeklyResetUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * ✅ 이번 주 레이드별 파티 매칭 가능 캐릭터 (딜러/서폿 풀)
+ * 서버 시작과 주간 초기화 시 로스터 스냅샷 + 이번 주 완료 파티로 한 번 만들고,
+ * 이후에는 공격대 완료/취소, 캐릭터/유저 변경(RosterChangedEvent)을 커밋 후에 풀에만 반영한다.
+ * 풀은 골드 우선순위 → 아이템 레벨 내림차순으로 정렬된 상태이므로 조회는 풀 크기만큼 복사하면 끝.
+ *
+ * 완료 기록은 캐릭터별 완료 기록 ID 집합으로 들고 있어, 같은 완료가 두 번 반영되어도 결과가 같다
+ * (다시 만드는 도중 커밋된 완료가 다시 만든 뒤에 한 번 더 들어오는 경우).
+ */
+@Component
+@RequiredArgsConstructor
+public class PartyAvailabilityPools {
+
+  private final RaidCatalog raidCatalog;
+  private final RosterSnapshotHolder rosterSnapshotHolder;
+  private final PartyCompletionMemberRepository partyCompletionMemberRepository;
+
+  private LocalDateTime weekStart;  // 풀을 만든 주 (null이면 아직 만들지 않음)
+  private final Map<Long, Pool> pools = new HashMap<>();
+
+  /**
+   * 레이드 1개의 풀
+   */
+  private static final class Pool {
+    private final double requiredItemLevel;
+    private final Map<Long, Character> eligible = new HashMap<>();        // 입장 가능 캐릭터 (완료 포함)
+    private final Map<Long, Set<Long>> completedBy = new HashMap<>();     // 캐릭터별 완료 기록 ID
+    private final NavigableSet<Character> dealers = new TreeSet<>(ORDER);
+    private final NavigableSet<Character> supports = new TreeSet<>(ORDER);
+
+    private Pool(Raid raid) {
+      this.requiredItemLevel = raid.getRequiredItemLevel();
+    }
+
+    private void add(Character character) {
+      if (itemLevelOf(character) < requiredItemLevel) {
+        return;
+      }
+      eligible.put(character.getId(), character);
+      if (!completedBy.containsKey(character.getId())) {
+        roleOf(character).add(character);
+      }
+    }
+
+    private void remove(Long characterId) {
+      Character removed = eligible.remove(characterId);
+      if (removed != null) {
+        roleOf(removed).remove(removed);
+      }
+    }
+
+    private void complete(Long completionId, Long characterId) {
+      completedBy.computeIfAbsent(characterId, id -> new HashSet<>()).add(completionId);
+      Character character = eligible.get(characterId);
+      if (character != null) {
+        roleOf(character).remove(character);
+      }
+    }
+
+    private void cancel(Long completionId, Long characterId) {
+      Set<Long> completionIds = completedBy.get(characterId);
+      if (completionIds == null || !completionIds.remove(completionId) || !completionIds.isEmpty()) {
+        return;
+      }
+      // 마지막 완료 기록이 취소되면 다시 매칭 가능
+      completedBy.remove(characterId);
+      Character character = eligible.get(characterId);
+      if (character != null) {
+        roleOf(character).add(character);
+      }
+    }
+
+    private NavigableSet<Character> roleOf(Character character) {
+      return RosterSnapshot.isSupportClass(character.getClassName()) ? supports : dealers;
+    }
+  }
+
+  /**
+   * 조회 결과 (골드 우선순위 → 아이템 레벨 내림차순, 호출자 소유 복사본)
+   */
+  public record Available(List<Character> dealers, List<Character> supports) {
+  }
+
+  /**
+   * 레이드의 매칭 가능 딜러/서폿 (풀 크기만큼 복사)
+   */
+  public synchronized Available get(Long raidId) {
+    ensureCurrentWeek();
+    Pool pool = pools.get(raidId);
+    if (pool == null) {
+      throw new RuntimeException("레이드를 찾을 수 없습니다.");
+    }
+    return new Available(new ArrayList<>(pool.dealers), new ArrayList<>(pool.supports));
+  }
+
+  /**
+   * 서버 시작 시 풀 생성 (참여 캐릭터 행 이전 PartyCompletionMemberMigration 다음에)
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+  public synchronized void buildOnStartup() {
+    rebuild();
+  }
+
+  /**
+   * ✅ 매주 수요일 06:00 (주간 초기화) 새 주의 풀 생성
+   * 스케줄이 늦어도 조회 시 주가 바뀌었으면 다시 만든다.
+   */
+  @Scheduled(cron = "0 0 6 * * WED", zone = "Asia/Seoul")
+  public synchronized void rebuildForNewWeek() {
+    rebuild();
+  }
+
+  // 캐릭터/유저 변경, 이번 주 데이터 초기화 (커밋 후)
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  @Order(0)
+  public synchronized void rosterChanged(RosterChangedEvent event) {
+    if (event.type() == RosterChangedEvent.Type.WEEK_RESET) {
+      rebuild();
+      return;
+    }
+    // 아직 만들지 않았다면 첫 조회 때 최신 상태로 만들므로 반영할 필요 없음
+    if (weekStart == null) {
+      return;
+    }
+    switch (event.type()) {
+      case CHARACTER_UPDATED -> {
+        for (Pool pool : pools.values()) {
+          pool.remove(event.characterId());
+          pool.add(event.character());
+        }
+      }
+      case CHARACTER_REMOVED -> pools.values().forEach(pool -> pool.remove(event.characterId()));
+      case USER_REMOVED -> {
+        for (Pool pool : pools.values()) {
+          List<Long> characterIds = pool.eligible.values().stream()
+                  .filter(c -> c.getUser() != null && c.getUser().getId().equals(event.userId()))
+                  .map(Character::getId)
+                  .toList();
+          characterIds.forEach(pool::remove);
+        }
+      }
+      default -> {
+      }
+    }
+  }
+
+  // 공격대 완료 (저장 후 호출, 완료 기록 ID 필요)
+  public void partyCompleted(PartyCompletion completion) {
+    Long raidId = completion.getRaid().getId();
+    Long completionId = completion.getId();
+    LocalDateTime completionWeek = completion.getWeekStart();
+    List<Long> characterIds = completion.getMemberCharacterIds();
+    afterCommit(() -> {
+      Pool pool = pools.get(raidId);
+      if (pool != null && completionWeek.equals(weekStart)) {
+        characterIds.forEach(characterId -> pool.complete(completionId, characterId));
+      }
+    });
+  }
+
+  // 공격대 완료 취소 (삭제 전에 호출)
+  public void partyCanceled(PartyCompletion completion) {
+    Long raidId = completion.getRaid().getId();
+    Long completionId = completion.getId();
+    LocalDateTime completionWeek = completion.getWeekStart();
+    List<Long> characterIds = completion.getMemberCharacterIds();
+    afterCommit(() -> {
+      Pool pool = pools.get(raidId);
+      if (pool != null && completionWeek.equals(weekStart)) {
+        characterIds.forEach(characterId -> pool.cancel(completionId, characterId));
+      }
+    });
+  }
+
+  private void afterCommit(Runnable change) {
+    TransactionUtil.afterCommit(() -> {
+      synchronized (this) {
+        // 아직 만들지 않았다면 첫 조회 때 최신 상태로 만들므로 반영할 필요 없음
+        if (weekStart != null) {
+          change.run();
+        }
+      }
+    });
+  }
+
+  private void ensureCurrentWeek() {
+    if (!WeeklyResetUtil.getCurrentWeekStart().equals(weekStart)) {
+      rebuild();
+    }
+  }
+
+  // 로스터 스냅샷 + 이번 주 완료 파티로 전체 풀 다시 만들기
+  private void rebuild() {
+    LocalDateTime currentWeek = WeeklyResetUtil.getCurrentWeekStart();
+    RosterSnapshot roster = rosterSnapshotHolder.get();
+
+    pools.clear();
+    for (Raid raid : raidCatalog.getRaids()) {
+      pools.put(raid.getId(), new Pool(raid));
+    }
+
+    for (Object[] row : partyCompletionMemberRepository.findRaidIdCharacterIdAndCompletionIdByWeekStart(currentWeek)) {
+      Pool pool = pools.get((Long) row[0]);
+      if (pool != null) {
+        pool.completedBy.computeIfAbsent((Long) row[1], id -> new HashSet<>()).add((Long) row[2]);
+      }
+    }
+
+    for (int i = 0; i < roster.size(); i++) {
+      Character character = roster.getCharacter(i);
+      for (Pool pool : pools.values()) {
+        pool.add(character);
+      }
+    }
+
+    weekStart = currentWeek;
+    System.out.println("파티 매칭 풀 생성: " + currentWeek + " (캐릭터 " + roster.size() + "명, 레이드 " + pools.size() + "개)");
+  }
+
+  private static double itemLevelOf(Character character) {
+    return character.getItemLevel() != null ? character.getItemLevel() : 0.0;
+  }
+
+  private static int goldPriorityOf(Character character) {
+    return character.getGoldPriority() != null ? character.getGoldPriority() : Integer.MAX_VALUE;
+  }
+
+  // 골드 우선순위 → 아이템 레벨 내림차순, 같으면 ID 내림차순 (기존 추천 순서와 동일)
+  private static final Comparator<Character> ORDER = Comparator
+          .comparingInt(PartyAvailabilityPools::goldPriorityOf)
+          .thenComparing(Comparator.comparingDouble(PartyAvailabilityPools::itemLevelOf).reversed())
+          .thenComparing(Character::getId, Comparator.reverseOrder());
+}
@@ -0,0 +1,133 @@
+package com.lostark.raidchecker.service;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * ✅ 추천 파티 공정성 보정 (PartyFormationSolver 결과를 그대로 두고 파티 간 같은 역할끼리 자리 바꾸기)
+ * 파티 벌점 = 파티 안 유저 쌍이 최근에 같은 파티였던 횟수 합 + 아이템 레벨이 가장 낮은 캐릭터 유저의 버스 횟수.
+ * 벌점이 있는 파티만 무작위로 고른 다른 파티 몇 개와 자리 바꾸기를 시도하고, 두 파티 벌점 합이 줄면 바꾼다.
+ * 파티 수/인원/한 파티 같은 유저 1명 제약은 그대로 유지된다.
+ */
+public final class PartyFairness {
+
+  // 벌점 있는 파티마다 자리 바꾸기를 시도할 다른 파티 수
+  private static final int PARTNERS_PER_PARTY = 4;
+
+  private PartyFairness() {
+  }
+
+  /**
+   * parties의 dealers/supports 배열을 직접 바꾼다
+   * @param dealerUserIds  딜러 번호별 유저 id
+   * @param dealerLevels   딜러 번호별 아이템 레벨
+   */
+  public static void improve(List<PartyFormationSolver.Party> parties,
+                             long[] dealerUserIds, long[] supportUserIds,
+                             double[] dealerLevels, double[] supportLevels,
+                             PartyHistory history, Random random) {
+    if (parties.size() < 2 || history.isEmpty()) {
+      return;
+    }
+
+    Members members = new Members(dealerUserIds, supportUserIds, dealerLevels, supportLevels);
+    int[] penalties = new int[parties.size()];
+    for (int p = 0; p < parties.size(); p++) {
+      penalties[p] = penalty(parties.get(p), members, history);
+    }
+
+    for (int p = 0; p < parties.size(); p++) {
+      for (int k = 0; k < PARTNERS_PER_PARTY && penalties[p] > 0; k++) {
+        int q = random.nextInt(parties.size() - 1);
+        if (q >= p) {
+          q++;
+        }
+        trySwaps(parties, p, q, penalties, members, history);
+      }
+    }
+  }
+
+  private static void trySwaps(List<PartyFormationSolver.Party> parties, int p, int q, int[] penalties,
+                               Members members, PartyHistory history) {
+    PartyFormationSolver.Party first = parties.get(p);
+    PartyFormationSolver.Party second = parties.get(q);
+
+    for (boolean dealer : new boolean[]{true, false}) {
+      int[] a = dealer ? first.dealers() : first.supports();
+      int[] b = dealer ? second.dealers() : second.supports();
+      long[] userIds = dealer ? members.dealerUserIds : members.supportUserIds;
+
+      for (int i = 0; i < a.length; i++) {
+        for (int j = 0; j < b.length; j++) {
+          if (userIds[a[i]] == userIds[b[j]]) {
+            continue;
+          }
+          swap(a, i, b, j);
+          int firstPenalty = penalty(first, members, history);
+          int secondPenalty = firstPenalty < 0 ? -1 : penalty(second, members, history);
+          if (secondPenalty >= 0 && firstPenalty + secondPenalty < penalties[p] + penalties[q]) {
+            penalties[p] = firstPenalty;
+            penalties[q] = secondPenalty;
+          } else {
+            swap(a, i, b, j);
+          }
+        }
+      }
+    }
+  }
+
+  // 파티 벌점 (같은 유저가 두 번 있으면 -1)
+  private static int penalty(PartyFormationSolver.Party party, Members members, PartyHistory history) {
+    long[] users = members.usersOf(party);
+    int penalty = 0;
+    for (int i = 0; i < users.length; i++) {
+      for (int j = i + 1; j < users.length; j++) {
+        if (users[i] == users[j]) {
+          return -1;
+        }
+        penalty += history.pairCount(users[i], users[j]);
+      }
+    }
+    return penalty + history.carriedCount(members.carriedUserOf(party));
+  }
+
+  private static void swap(int[] a, int i, int[] b, int j) {
+    int temp = a[i];
+    a[i] = b[j];
+    b[j] = temp;
+  }
+
+  private record Members(long[] dealerUserIds, long[] supportUserIds, double[] dealerLevels, double[] supportLevels) {
+
+    private long[] usersOf(PartyFormationSolver.Party party) {
+      long[] users = new long[party.dealers().length + party.supports().length];
+      int n = 0;
+      for (int dealer : party.dealers()) {
+        users[n++] = dealerUserIds[dealer];
+      }
+      for (int support : party.supports()) {
+        users[n++] = supportUserIds[support];
+      }
+      return users;
+    }
+
+    // 아이템 레벨이 가장 낮은 캐릭터의 유저
+    private long carriedUserOf(PartyFormationSolver.Party party) {
+      long user = 0;
+      double lowest = Double.MAX_VALUE;
+      for (int dealer : party.dealers()) {
+        if (dealerLevels[dealer] < lowest) {
+          lowest = dealerLevels[dealer];
+          user = dealerUserIds[dealer];
+        }
+      }
+      for (int support : party.supports()) {
+        if (supportLevels[support] < lowest) {
+          lowest = supportLevels[support];
+          user = supportUserIds[support];
+        }
+      }
+      return user;
+    }
+  }
+}
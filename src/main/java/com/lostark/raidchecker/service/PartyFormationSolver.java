@@ -0,0 +1,397 @@
+package com.lostark.raidchecker.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ✅ 파티 구성 (최대 파티 수)
+ * 파티당 딜러 dealersPerParty명 + 서폿 supportsPerParty명, 한 파티에 같은 유저의 캐릭터는 1명까지.
+ *
+ * 1) 파티 수 k 결정: 유저 u의 딜러 a_u, 서폿 b_u 명일 때 k개 파티가 가능한 조건은 (최소 컷)
+ *    k·딜러 ≤ Σ min(a_u, k), k·서폿 ≤ Σ min(b_u, k), k·(딜러+서폿) ≤ Σ min(a_u + b_u, k)
+ *    조건을 만족하는 k는 0부터 연속이므로 이분 탐색으로 최대 k를 찾는다.
+ * 2) 유저별 딜러/서폿 인원 배분: 소스 → 역할 → 유저 → 싱크 최대 유량 (Dinic)
+ * 3) 파티 배정: 유저 ↔ 자리 번호(딜러 1..d, 서폿 1..s) 이분 멀티그래프를 k색 간선 색칠 (Kempe 체인).
+ *    색 = 파티 번호. 자리마다 간선 k개라 파티마다 모든 자리가 채워지고, 유저는 파티마다 1번만 등장한다.
+ *
+ * 입력 순서대로 캐릭터를 고르므로 우선순위가 높은 캐릭터를 앞에 두면 된다.
+ */
+public final class PartyFormationSolver {
+
+  /**
+   * 파티 (입력 배열의 인덱스)
+   */
+  public record Party(int[] dealers, int[] supports) {
+  }
+
+  private PartyFormationSolver() {
+  }
+
+  /**
+   * @param dealerUserIds  딜러 캐릭터별 유저 id (인덱스 = 딜러 번호)
+   * @param supportUserIds 서폿 캐릭터별 유저 id (인덱스 = 서폿 번호)
+   */
+  public static List<Party> solve(long[] dealerUserIds, long[] supportUserIds,
+                                  int dealersPerParty, int supportsPerParty) {
+    // 유저별 캐릭터 목록 (입력 순서 유지)
+    Map<Long, Integer> userIndex = new HashMap<>();
+    List<IntList> dealersByUser = new ArrayList<>();
+    List<IntList> supportsByUser = new ArrayList<>();
+    groupByUser(dealerUserIds, userIndex, dealersByUser, supportsByUser, true);
+    groupByUser(supportUserIds, userIndex, dealersByUser, supportsByUser, false);
+
+    int userCount = userIndex.size();
+    int[] dealerCounts = new int[userCount];
+    int[] supportCounts = new int[userCount];
+    for (int u = 0; u < userCount; u++) {
+      dealerCounts[u] = dealersByUser.get(u).size;
+      supportCounts[u] = supportsByUser.get(u).size;
+    }
+
+    int parties = maxParties(dealerCounts, supportCounts, dealersPerParty, supportsPerParty);
+    if (parties == 0) {
+      return List.of();
+    }
+
+    int[][] split = splitRoles(dealerCounts, supportCounts, parties, dealersPerParty, supportsPerParty);
+    return assignParties(split[0], split[1], dealersByUser, supportsByUser,
+            parties, dealersPerParty, supportsPerParty);
+  }
+
+  /**
+   * 가능한 최대 파티 수 (최소 컷 조건 + 이분 탐색)
+   */
+  static int maxParties(int[] dealerCounts, int[] supportCounts, int dealersPerParty, int supportsPerParty) {
+    long totalDealers = 0;
+    long totalSupports = 0;
+    for (int u = 0; u < dealerCounts.length; u++) {
+      totalDealers += dealerCounts[u];
+      totalSupports += supportCounts[u];
+    }
+    int high = (int) Math.min(
+            dealersPerParty > 0 ? totalDealers / dealersPerParty : Integer.MAX_VALUE,
+            supportsPerParty > 0 ? totalSupports / supportsPerParty : Integer.MAX_VALUE);
+    high = Math.min(high, dealerCounts.length == 0 ? 0 : Integer.MAX_VALUE);
+
+    int low = 0;
+    while (low < high) {
+      int mid = low + (high - low + 1) / 2;
+      if (isFeasible(dealerCounts, supportCounts, mid, dealersPerParty, supportsPerParty)) {
+        low = mid;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return low;
+  }
+
+  private static boolean isFeasible(int[] dealerCounts, int[] supportCounts, int parties,
+                                    int dealersPerParty, int supportsPerParty) {
+    long dealerCapacity = 0;
+    long supportCapacity = 0;
+    long totalCapacity = 0;
+    for (int u = 0; u < dealerCounts.length; u++) {
+      dealerCapacity += Math.min(dealerCounts[u], parties);
+      supportCapacity += Math.min(supportCounts[u], parties);
+      totalCapacity += Math.min(dealerCounts[u] + supportCounts[u], parties);
+    }
+    return (long) parties * dealersPerParty <= dealerCapacity
+            && (long) parties * supportsPerParty <= supportCapacity
+            && (long) parties * (dealersPerParty + supportsPerParty) <= totalCapacity;
+  }
+
+  /**
+   * 유저별 딜러/서폿 인원 (최대 유량)
+   * 소스 → 딜러(k·d) / 서폿(k·s) → 유저 (a_u / b_u) → 싱크 (k)
+   */
+  private static int[][] splitRoles(int[] dealerCounts, int[] supportCounts, int parties,
+                                    int dealersPerParty, int supportsPerParty) {
+    int userCount = dealerCounts.length;
+    int source = userCount;
+    int dealerNode = userCount + 1;
+    int supportNode = userCount + 2;
+    int sink = userCount + 3;
+
+    MaxFlow flow = new MaxFlow(userCount + 4, 3 * userCount + 2);
+    flow.addEdge(source, dealerNode, parties * dealersPerParty);
+    flow.addEdge(source, supportNode, parties * supportsPerParty);
+    int[] dealerEdges = new int[userCount];
+    int[] supportEdges = new int[userCount];
+    for (int u = 0; u < userCount; u++) {
+      dealerEdges[u] = flow.addEdge(dealerNode, u, dealerCounts[u]);
+      supportEdges[u] = flow.addEdge(supportNode, u, supportCounts[u]);
+      flow.addEdge(u, sink, parties);
+    }
+
+    int total = flow.run(source, sink);
+    if (total != parties * (dealersPerParty + supportsPerParty)) {
+      throw new IllegalStateException("파티 역할 배분 실패: " + total);
+    }
+
+    int[] dealersPerUser = new int[userCount];
+    int[] supportsPerUser = new int[userCount];
+    for (int u = 0; u < userCount; u++) {
+      dealersPerUser[u] = flow.flowOf(dealerEdges[u]);
+      supportsPerUser[u] = flow.flowOf(supportEdges[u]);
+    }
+    return new int[][]{dealersPerUser, supportsPerUser};
+  }
+
+  /**
+   * 파티 배정 (이분 멀티그래프 간선 색칠)
+   * 왼쪽 = 유저, 오른쪽 = 자리 번호 (딜러 자리 0..d-1, 서폿 자리 d..d+s-1)
+   * 선택된 캐릭터를 역할별로 줄 세워 k개씩 자리 번호에 나눠 준 뒤 k색으로 색칠한다.
+   */
+  private static List<Party> assignParties(int[] dealersPerUser, int[] supportsPerUser,
+                                           List<IntList> dealersByUser, List<IntList> supportsByUser,
+                                           int parties, int dealersPerParty, int supportsPerParty) {
+    int userCount = dealersPerUser.length;
+    int slots = dealersPerParty + supportsPerParty;
+    int edgeCount = parties * slots;
+
+    int[] edgeUser = new int[edgeCount];
+    int[] edgeSlot = new int[edgeCount];
+    int[] edgeCharacter = new int[edgeCount];
+    int e = 0;
+    for (int u = 0; u < userCount; u++) {
+      for (int i = 0; i < dealersPerUser[u]; i++, e++) {
+        edgeUser[e] = u;
+        edgeSlot[e] = e / parties;  // 딜러 줄의 e번째 → 딜러 자리 e / k
+        edgeCharacter[e] = dealersByUser.get(u).get(i);
+      }
+    }
+    int dealerEdges = e;
+    for (int u = 0; u < userCount; u++) {
+      for (int i = 0; i < supportsPerUser[u]; i++, e++) {
+        edgeUser[e] = u;
+        edgeSlot[e] = dealersPerParty + (e - dealerEdges) / parties;
+        edgeCharacter[e] = supportsByUser.get(u).get(i);
+      }
+    }
+
+    int[] edgeColor = EdgeColoring.color(userCount, slots, edgeUser, edgeSlot, parties);
+
+    int[][] dealers = new int[parties][dealersPerParty];
+    int[][] supports = new int[parties][supportsPerParty];
+    for (int i = 0; i < edgeCount; i++) {
+      int slot = edgeSlot[i];
+      if (slot < dealersPerParty) {
+        dealers[edgeColor[i]][slot] = edgeCharacter[i];
+      } else {
+        supports[edgeColor[i]][slot - dealersPerParty] = edgeCharacter[i];
+      }
+    }
+
+    List<Party> result = new ArrayList<>(parties);
+    for (int p = 0; p < parties; p++) {
+      result.add(new Party(dealers[p], supports[p]));
+    }
+    return result;
+  }
+
+  private static void groupByUser(long[] userIds, Map<Long, Integer> userIndex,
+                                  List<IntList> dealersByUser, List<IntList> supportsByUser, boolean dealer) {
+    for (int i = 0; i < userIds.length; i++) {
+      Integer u = userIndex.get(userIds[i]);
+      if (u == null) {
+        u = userIndex.size();
+        userIndex.put(userIds[i], u);
+        dealersByUser.add(new IntList());
+        supportsByUser.add(new IntList());
+      }
+      (dealer ? dealersByUser : supportsByUser).get(u).add(i);
+    }
+  }
+
+  /**
+   * Dinic 최대 유량 (정점 수가 유저 수 + 4인 작은 그래프용)
+   */
+  private static final class MaxFlow {
+    private final int[] head;
+    private final int[] next;
+    private final int[] to;
+    private final int[] capacity;
+    private final int[] level;
+    private final int[] iterator;
+    private int edges;
+
+    MaxFlow(int nodes, int maxEdges) {
+      head = new int[nodes];
+      Arrays.fill(head, -1);
+      next = new int[maxEdges * 2];
+      to = new int[maxEdges * 2];
+      capacity = new int[maxEdges * 2];
+      level = new int[nodes];
+      iterator = new int[nodes];
+    }
+
+    int addEdge(int from, int target, int cap) {
+      int id = edges;
+      link(from, target, cap);
+      link(target, from, 0);
+      return id;
+    }
+
+    private void link(int from, int target, int cap) {
+      to[edges] = target;
+      capacity[edges] = cap;
+      next[edges] = head[from];
+      head[from] = edges++;
+    }
+
+    // 정방향 간선에 흐른 유량 = 역방향 간선의 잔여 용량
+    int flowOf(int edge) {
+      return capacity[edge ^ 1];
+    }
+
+    int run(int source, int sink) {
+      int total = 0;
+      int[] queue = new int[head.length];
+      while (bfs(source, sink, queue)) {
+        System.arraycopy(head, 0, iterator, 0, head.length);
+        int pushed;
+        while ((pushed = dfs(source, sink, Integer.MAX_VALUE)) > 0) {
+          total += pushed;
+        }
+      }
+      return total;
+    }
+
+    private boolean bfs(int source, int sink, int[] queue) {
+      Arrays.fill(level, -1);
+      int qHead = 0;
+      int qTail = 0;
+      queue[qTail++] = source;
+      level[source] = 0;
+      while (qHead < qTail) {
+        int v = queue[qHead++];
+        for (int e = head[v]; e != -1; e = next[e]) {
+          if (capacity[e] > 0 && level[to[e]] < 0) {
+            level[to[e]] = level[v] + 1;
+            queue[qTail++] = to[e];
+          }
+        }
+      }
+      return level[sink] >= 0;
+    }
+
+    private int dfs(int v, int sink, int limit) {
+      if (v == sink) {
+        return limit;
+      }
+      for (; iterator[v] != -1; iterator[v] = next[iterator[v]]) {
+        int e = iterator[v];
+        if (capacity[e] > 0 && level[to[e]] == level[v] + 1) {
+          int pushed = dfs(to[e], sink, Math.min(limit, capacity[e]));
+          if (pushed > 0) {
+            capacity[e] -= pushed;
+            capacity[e ^ 1] += pushed;
+            return pushed;
+          }
+        }
+      }
+      return 0;
+    }
+  }
+
+  /**
+   * 이분 멀티그래프 간선 색칠 (최대 차수 ≤ 색 수)
+   * 간선 (u, v)마다 u에 없는 색 α, v에 없는 색 β를 찾고, α가 v에 있으면 v에서 시작하는 α/β 교대 경로를 뒤집는다.
+   */
+  private static final class EdgeColoring {
+
+    static int[] color(int leftCount, int rightCount, int[] edgeLeft, int[] edgeRight, int colors) {
+      int nodes = leftCount + rightCount;
+      // at[node * colors + c] = 그 색의 간선 번호 (-1 = 없음)
+      int[] at = new int[nodes * colors];
+      Arrays.fill(at, -1);
+      int[] hint = new int[nodes];  // 다음에 찾기 시작할 색 (앞쪽 색은 대부분 사용 중)
+      int[] edgeColor = new int[edgeLeft.length];
+
+      for (int e = 0; e < edgeLeft.length; e++) {
+        int u = edgeLeft[e];
+        int v = leftCount + edgeRight[e];
+        int alpha = freeColor(at, hint, u, colors);
+        int beta = freeColor(at, hint, v, colors);
+
+        if (at[v * colors + alpha] != -1) {
+          flipPath(at, edgeColor, edgeLeft, edgeRight, leftCount, colors, v, alpha, beta);
+        }
+
+        edgeColor[e] = alpha;
+        at[u * colors + alpha] = e;
+        at[v * colors + alpha] = e;
+      }
+      return edgeColor;
+    }
+
+    private static int freeColor(int[] at, int[] hint, int node, int colors) {
+      int base = node * colors;
+      for (int i = 0, c = hint[node]; i < colors; i++, c = c + 1 == colors ? 0 : c + 1) {
+        if (at[base + c] == -1) {
+          hint[node] = c + 1 == colors ? 0 : c + 1;
+          return c;
+        }
+      }
+      throw new IllegalStateException("사용 가능한 색이 없습니다.");
+    }
+
+    // v에서 시작하는 α/β 교대 경로의 색을 맞바꾼다 (이분 그래프라 u에는 닿지 않음)
+    private static void flipPath(int[] at, int[] edgeColor, int[] edgeLeft, int[] edgeRight,
+                                 int leftCount, int colors, int start, int alpha, int beta) {
+      IntList path = new IntList();
+      int node = start;
+      int c = alpha;
+      while (true) {
+        int e = at[node * colors + c];
+        if (e == -1) {
+          break;
+        }
+        path.add(e);
+        int u = edgeLeft[e];
+        int v = leftCount + edgeRight[e];
+        node = node == u ? v : u;
+        c = c == alpha ? beta : alpha;
+      }
+
+      for (int i = 0; i < path.size; i++) {
+        int e = path.get(i);
+        int from = edgeColor[e];
+        int u = edgeLeft[e];
+        int v = leftCount + edgeRight[e];
+        if (at[u * colors + from] == e) {
+          at[u * colors + from] = -1;
+        }
+        if (at[v * colors + from] == e) {
+          at[v * colors + from] = -1;
+        }
+      }
+      for (int i = 0; i < path.size; i++) {
+        int e = path.get(i);
+        int swapped = edgeColor[e] == alpha ? beta : alpha;
+        edgeColor[e] = swapped;
+        at[edgeLeft[e] * colors + swapped] = e;
+        at[(leftCount + edgeRight[e]) * colors + swapped] = e;
+      }
+    }
+  }
+
+  private static final class IntList {
+    private int[] values = new int[4];
+    private int size;
+
+    void add(int value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = value;
+    }
+
+    int get(int index) {
+      return values[index];
+    }
+  }
+}
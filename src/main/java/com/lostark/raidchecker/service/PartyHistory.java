@@ -0,0 +1,193 @@
+package com.lostark.raidchecker.service;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * ✅ 최근 몇 주 공격대 완료 기록 요약 (불변)
+ * - 유저 쌍별 같은 파티 횟수 (함께 간 적이 많은 유저끼리는 다른 파티로)
+ * - 유저별 버스 탑승 횟수 (파티에서 아이템 레벨이 가장 낮았던 횟수, 돌아가며 타도록)
+ *
+ * 유저 쌍은 (작은 id, 큰 id)를 long 1개로 합친 키, 값은 int인 open addressing 해시 테이블에 담는다
+ * (객체 생성 없이 조회). 완료/취소가 반영될 때는 복사본을 만들어 교체한다 (PartyHistoryHolder).
+ */
+public final class PartyHistory {
+
+  public static final PartyHistory EMPTY = new PartyHistory(null, new Counts(), new Counts());
+
+  private final LocalDateTime weekStart;  // 만든 기준 주 (이번 주)
+  private final Counts pairs;
+  private final Counts carried;
+
+  private PartyHistory(LocalDateTime weekStart, Counts pairs, Counts carried) {
+    this.weekStart = weekStart;
+    this.pairs = pairs;
+    this.carried = carried;
+  }
+
+  /**
+   * 빈 기록에서 파티를 하나씩 추가해 만들기 (기존 값은 바뀌지 않음)
+   */
+  public static Builder builder(LocalDateTime weekStart) {
+    return new Builder(weekStart);
+  }
+
+  public LocalDateTime getWeekStart() {
+    return weekStart;
+  }
+
+  public boolean isEmpty() {
+    return pairs.size == 0 && carried.size == 0;
+  }
+
+  // 두 유저가 같은 파티였던 횟수
+  public int pairCount(long userA, long userB) {
+    return pairs.get(pairKey(userA, userB));
+  }
+
+  // 유저가 버스를 탄 횟수
+  public int carriedCount(long userId) {
+    return carried.get(userId);
+  }
+
+  /**
+   * 파티 1개 반영한 복사본 (delta: 완료 +1, 취소 -1)
+   * @param users       파티 유저 id (중복 없음)
+   * @param carriedUser 아이템 레벨이 가장 낮은 캐릭터의 유저 id
+   */
+  public PartyHistory withParty(long[] users, long carriedUser, int delta) {
+    Counts nextPairs = pairs.copy();
+    Counts nextCarried = carried.copy();
+    addParty(nextPairs, nextCarried, users, carriedUser, delta);
+    return new PartyHistory(weekStart, nextPairs, nextCarried);
+  }
+
+  private static void addParty(Counts pairs, Counts carried, long[] users, long carriedUser, int delta) {
+    for (int i = 0; i < users.length; i++) {
+      for (int j = i + 1; j < users.length; j++) {
+        pairs.add(pairKey(users[i], users[j]), delta);
+      }
+    }
+    carried.add(carriedUser, delta);
+  }
+
+  // 순서 없는 유저 쌍 → long 키 (유저 id는 int 범위, 캐릭터만 있는 경우 -캐릭터 id)
+  private static long pairKey(long userA, long userB) {
+    long low = Math.min(userA, userB);
+    long high = Math.max(userA, userB);
+    return (low << 32) | (high & 0xFFFFFFFFL);
+  }
+
+  public static final class Builder {
+    private final LocalDateTime weekStart;
+    private final Counts pairs = new Counts();
+    private final Counts carried = new Counts();
+
+    private Builder(LocalDateTime weekStart) {
+      this.weekStart = weekStart;
+    }
+
+    public Builder add(long[] users, long carriedUser) {
+      addParty(pairs, carried, users, carriedUser, 1);
+      return this;
+    }
+
+    public PartyHistory build() {
+      return new PartyHistory(weekStart, pairs, carried);
+    }
+  }
+
+  /**
+   * long → int 카운트 (선형 탐사, 0은 없는 값과 같음)
+   */
+  static final class Counts {
+    private static final long EMPTY_KEY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private int[] values;
+    private int size;  // 사용 중인 칸 수 (값이 0으로 돌아간 칸 포함)
+
+    Counts() {
+      this(16);
+    }
+
+    private Counts(int capacity) {
+      keys = new long[capacity];
+      values = new int[capacity];
+      Arrays.fill(keys, EMPTY_KEY);
+    }
+
+    int get(long key) {
+      int mask = keys.length - 1;
+      for (int slot = indexOf(key, mask); ; slot = (slot + 1) & mask) {
+        if (keys[slot] == key) {
+          return values[slot];
+        }
+        if (keys[slot] == EMPTY_KEY) {
+          return 0;
+        }
+      }
+    }
+
+    void add(long key, int delta) {
+      int mask = keys.length - 1;
+      int slot = indexOf(key, mask);
+      while (keys[slot] != EMPTY_KEY && keys[slot] != key) {
+        slot = (slot + 1) & mask;
+      }
+      if (keys[slot] == EMPTY_KEY) {
+        if (delta <= 0) {
+          return;  // 없는 기록 취소
+        }
+        keys[slot] = key;
+        size++;
+      }
+      values[slot] = Math.max(0, values[slot] + delta);
+
+      // 사용률 50% 넘으면 2배로
+      if (size * 2 > keys.length) {
+        resize(keys.length * 2);
+      }
+    }
+
+    int size() {
+      return size;
+    }
+
+    int capacity() {
+      return keys.length;
+    }
+
+    Counts copy() {
+      Counts copy = new Counts(keys.length);
+      System.arraycopy(keys, 0, copy.keys, 0, keys.length);
+      System.arraycopy(values, 0, copy.values, 0, values.length);
+      copy.size = size;
+      return copy;
+    }
+
+    private void resize(int capacity) {
+      long[] oldKeys = keys;
+      int[] oldValues = values;
+      keys = new long[capacity];
+      values = new int[capacity];
+      Arrays.fill(keys, EMPTY_KEY);
+
+      int mask = capacity - 1;
+      for (int i = 0; i < oldKeys.length; i++) {
+        if (oldKeys[i] != EMPTY_KEY) {
+          int slot = indexOf(oldKeys[i], mask);
+          while (keys[slot] != EMPTY_KEY) {
+            slot = (slot + 1) & mask;
+          }
+          keys[slot] = oldKeys[i];
+          values[slot] = oldValues[i];
+        }
+      }
+    }
+
+    private static int indexOf(long key, int mask) {
+      return Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+    }
+  }
+}
@@ -0,0 +1,190 @@
+package com.lostark.raidchecker.service;
+
+import com.lostark.raidchecker.entity.PartyCompletion;
+import com.lostark.raidchecker.repository.PartyCompletionMemberRepository;
+import com.lostark.raidchecker.util.TransactionUtil;
+import com.lostark.raidchecker.util.WeeklyResetUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * ✅ 최근 공격대 기록 요약 보관 (파티 추천 공정성 보정용)
+ * 서버 시작/주간 초기화 시 최근 history-weeks 주(이번 주 포함)의 실제 완료 파티로 한 번 만들고,
+ * 이후에는 공격대 완료/취소를 커밋 후에 복사본으로 반영한다.
+ * 캐릭터 → 유저/아이템 레벨은 로스터 스냅샷 기준 (삭제된 캐릭터는 제외).
+ * 다시 만드는 도중 커밋된 완료는 한 번 더 더해질 수 있지만, 다음 주간 재생성 때 바로잡힌다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PartyHistoryHolder {
+
+  private final PartyCompletionMemberRepository partyCompletionMemberRepository;
+  private final RosterSnapshotHolder rosterSnapshotHolder;
+
+  // 파티 추천에 반영할 최근 주 수 (이번 주 포함)
+  @Value("${raidchecker.recommend.history-weeks:4}")
+  private int historyWeeks;
+
+  private volatile PartyHistory history;
+
+  public PartyHistory get() {
+    PartyHistory cached = history;
+    if (cached == null || !WeeklyResetUtil.getCurrentWeekStart().equals(cached.getWeekStart())) {
+      synchronized (this) {
+        cached = history;
+        if (cached == null || !WeeklyResetUtil.getCurrentWeekStart().equals(cached.getWeekStart())) {
+          cached = load();
+          history = cached;
+        }
+      }
+    }
+    return cached;
+  }
+
+  /**
+   * 서버 시작 시 생성 (참여 캐릭터 행 이전 PartyCompletionMemberMigration 다음에)
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+  public synchronized void loadOnStartup() {
+    history = load();
+  }
+
+  /**
+   * ✅ 매주 수요일 06:00 (주간 초기화) 기간을 한 주 옮겨 다시 생성
+   */
+  @Scheduled(cron = "0 0 6 * * WED", zone = "Asia/Seoul")
+  public synchronized void reloadForNewWeek() {
+    history = load();
+  }
+
+  // 이번 주 데이터 초기화 (커밋 후 다시 만들기)
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  @Order(0)
+  public synchronized void rosterChanged(RosterChangedEvent event) {
+    if (event.type() == RosterChangedEvent.Type.WEEK_RESET) {
+      history = load();
+    }
+  }
+
+  // 공격대 완료 (실제 완료한 난이도만 반영)
+  public void partyCompleted(PartyCompletion completion) {
+    change(completion, 1);
+  }
+
+  // 공격대 완료 취소 (삭제 전에 호출)
+  public void partyCanceled(PartyCompletion completion) {
+    change(completion, -1);
+  }
+
+  private void change(PartyCompletion completion, int delta) {
+    if (!Boolean.TRUE.equals(completion.getActualCompleted())) {
+      return;
+    }
+    LocalDateTime completionWeek = completion.getWeekStart();
+    RosterSnapshot roster = rosterSnapshotHolder.get();
+    Set<Long> characterIds = new HashSet<>(completion.getMemberCharacterIds());
+    List<Integer> indexes = new ArrayList<>();
+    for (int i = 0; i < roster.size(); i++) {
+      if (characterIds.contains(roster.getCharacterId(i))) {
+        indexes.add(i);
+      }
+    }
+    PartyMembers members = membersOf(roster, indexes);
+    if (members == null) {
+      return;
+    }
+
+    TransactionUtil.afterCommit(() -> {
+      synchronized (this) {
+        // 아직 만들지 않았다면 첫 조회 때 최신 기록으로 만들므로 반영할 필요 없음
+        PartyHistory current = history;
+        if (current != null && inWindow(completionWeek, current.getWeekStart())) {
+          history = current.withParty(members.users(), members.carriedUser(), delta);
+        }
+      }
+    });
+  }
+
+  private boolean inWindow(LocalDateTime completionWeek, LocalDateTime weekStart) {
+    return !completionWeek.isAfter(weekStart)
+            && !completionWeek.isBefore(weekStart.minusWeeks(historyWeeks - 1));
+  }
+
+  // 최근 기간의 실제 완료 파티로 다시 만들기
+  private PartyHistory load() {
+    LocalDateTime weekStart = WeeklyResetUtil.getCurrentWeekStart();
+    RosterSnapshot roster = rosterSnapshotHolder.get();
+
+    Map<Long, Integer> indexById = new HashMap<>();
+    for (int i = 0; i < roster.size(); i++) {
+      indexById.put(roster.getCharacterId(i), i);
+    }
+
+    PartyHistory.Builder builder = PartyHistory.builder(weekStart);
+    Long currentCompletionId = null;
+    List<Integer> indexes = new ArrayList<>();
+    int parties = 0;
+
+    // 완료 기록 ID 순으로 정렬되어 오므로 ID가 바뀔 때마다 파티 1개
+    List<Object[]> rows = partyCompletionMemberRepository.findActualCompletedMembersBetween(
+            weekStart.minusWeeks(historyWeeks - 1), weekStart);
+    for (Object[] row : rows) {
+      Long completionId = (Long) row[0];
+      if (!completionId.equals(currentCompletionId)) {
+        parties += addParty(builder, roster, indexes);
+        currentCompletionId = completionId;
+        indexes.clear();
+      }
+      Integer index = indexById.get((Long) row[1]);
+      if (index != null) {
+        indexes.add(index);
+      }
+    }
+    parties += addParty(builder, roster, indexes);
+
+    System.out.println("공격대 기록 요약 생성: 최근 " + historyWeeks + "주, 파티 " + parties + "개");
+    return builder.build();
+  }
+
+  private int addParty(PartyHistory.Builder builder, RosterSnapshot roster, List<Integer> indexes) {
+    PartyMembers members = membersOf(roster, indexes);
+    if (members == null) {
+      return 0;
+    }
+    builder.add(members.users(), members.carriedUser());
+    return 1;
+  }
+
+  // 참여 캐릭터(로스터 인덱스)의 유저 (중복 제거) + 아이템 레벨이 가장 낮은 캐릭터의 유저
+  private PartyMembers membersOf(RosterSnapshot roster, List<Integer> indexes) {
+    if (indexes.isEmpty()) {
+      return null;
+    }
+    Set<Long> users = new LinkedHashSet<>();
+    long carriedUser = 0;
+    double lowest = Double.MAX_VALUE;
+    for (int i : indexes) {
+      users.add(roster.getUserId(i));
+      if (roster.getItemLevel(i) < lowest) {
+        lowest = roster.getItemLevel(i);
+        carriedUser = roster.getUserId(i);
+      }
+    }
+    return new PartyMembers(users.stream().mapToLong(Long::longValue).toArray(), carriedUser);
+  }
+
+  private record PartyMembers(long[] users, long carriedUser) {
+  }
+}
@@ -1,6 +1,7 @@
 package com.lostark.raidchecker.service;
 
 import com.lostark.raidchecker.dto.PartyCompletionRequest;
+import com.lostark.raidchecker.dto.RaidRecommendationDTO;
 import com.lostark.raidchecker.entity.Character;
 import com.lostark.raidchecker.entity.PartyCompletion;
 import com.lostark.raidchecker.entity.Raid;
@@ -8,12 +9,15 @@ import com.lostark.raidchecker.repository.CharacterRepository;
 import com.lostark.raidchecker.repository.PartyCompletionRepository;
 import com.lostark.raidchecker.repository.RaidRepository;
 import com.lostark.raidchecker.util.WeeklyResetUtil;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.stream.Collectors;
 import java.util.Collections;
 
@@ -25,86 +29,65 @@ public class PartyMatchingService {
   private final RaidRepository raidRepository;
   private final WeeklyCompletionService completionService;
   private final PartyCompletionRepository partyCompletionRepository;
+  private final RaidCatalog raidCatalog;
+  private final RosterSnapshotHolder rosterSnapshotHolder;
+  private final PartyRecommendationCache recommendationCache;
+  private final PartyAvailabilityPools partyAvailabilityPools;
+  private final PartyHistoryHolder partyHistoryHolder;
+  private final DataVersions dataVersions;
 
-  // 서폿 클래스 목록
-  private static final Set<String> SUPPORT_CLASSES = Set.of(
-          "바드", "홀리나이트", "도화가", "발키리"
-  );
+  // 전체 레이드 추천 계산용 (CPU 작업만, 최대 4스레드)
+  private final ForkJoinPool recommendationPool =
+          new ForkJoinPool(Math.min(4, Runtime.getRuntime().availableProcessors()));
 
   /**
    * 클래스가 서폿인지 확인
    */
   public boolean isSupport(String className) {
-    return SUPPORT_CLASSES.contains(className);
+    return RosterSnapshot.isSupportClass(className);
   }
 
   /**
    * 특정 레이드의 미완료 캐릭터 목록 조회
+   * ✅ 이번 주 매칭 가능 풀에서 복사만 (DB 조회/정렬 없음)
    */
   public Map<String, Object> getAvailableCharactersForRaid(Long raidId) {
-    Raid raid = raidRepository.findById(raidId)
-            .orElseThrow(() -> new RuntimeException("레이드를 찾을 수 없습니다."));
-
-    List<Character> allCharacters = characterRepository.findAll();
+    return availableFor(raidCatalog.getRaid(raidId));
+  }
 
-    // 이번 주 완료된 파티의 캐릭터 ID 수집
-    List<PartyCompletion> completedParties = getCompletedParties(raidId);
-    Set<Long> completedCharacterIds = completedParties.stream()
-            .flatMap(party -> {
-              String[] ids = party.getCharacterIds().split(",");
-              return Arrays.stream(ids).map(Long::parseLong);
-            })
-            .collect(Collectors.toSet());
-
-    // 미완료 캐릭터 필터링
-    List<Character> availableCharacters = allCharacters.stream()
-            .filter(character -> {
-              // 파티 완료된 캐릭터 제외
-              if (completedCharacterIds.contains(character.getId())) {
-                return false;
-              }
-
-              // 아이템 레벨 체크
-              if (character.getItemLevel() < raid.getRequiredItemLevel()) {
-                return false;
-              }
-
-              return true;
-            })
-            .sorted(Comparator
-                    .comparing(Character::getGoldPriority, Comparator.nullsLast(Comparator.naturalOrder()))
-                    .thenComparing(Character::getItemLevel, Comparator.reverseOrder()))
-            .collect(Collectors.toList());
-
-    // 딜러/서폿 분류
-    List<Character> dealers = availableCharacters.stream()
-            .filter(c -> !isSupport(c.getClassName()))
-            .collect(Collectors.toList());
-
-    List<Character> supports = availableCharacters.stream()
-            .filter(c -> isSupport(c.getClassName()))
-            .collect(Collectors.toList());
+  private Map<String, Object> availableFor(Raid raid) {
+    // 골드 우선순위 → 아이템 레벨 내림차순으로 정렬된 딜러/서폿
+    PartyAvailabilityPools.Available available = partyAvailabilityPools.get(raid.getId());
 
     Map<String, Object> result = new HashMap<>();
     result.put("raid", raid);
-    result.put("dealers", dealers);
-    result.put("supports", supports);
-    result.put("totalAvailable", availableCharacters.size());
+    result.put("dealers", available.dealers());
+    result.put("supports", available.supports());
+    result.put("totalAvailable", available.dealers().size() + available.supports().size());
 
     return result;
   }
 
   /**
    * 레이드 타입별 파티 추천
+   * ✅ 로스터/완료 기록이 바뀌기 전까지 같은 결과 (캐시), reroll이면 새 조합
    */
-  public List<Map<String, Object>> recommendParty(Long raidId) {
-    Raid raid = raidRepository.findById(raidId)
-            .orElseThrow(() -> new RuntimeException("레이드를 찾을 수 없습니다."));
+  public List<Map<String, Object>> recommendParty(Long raidId, boolean reroll) {
+    Raid raid = raidCatalog.getRaid(raidId);
+    long completionVersion = recommendationCache.getCompletionVersion();
+    RosterSnapshot roster = rosterSnapshotHolder.get();
+    LocalDateTime weekStart = WeeklyResetUtil.getCurrentWeekStart();
 
+    PartyRecommendationCache.Key key =
+            new PartyRecommendationCache.Key(raidId, weekStart, roster.getVersion(), completionVersion);
+    return recommendationCache.get(key, reroll, seed -> recommendFor(raid, availableFor(raid), seed));
+  }
+
+  private List<Map<String, Object>> recommendFor(Raid raid, Map<String, Object> available, long seed) {
     if ("카제로스".equals(raid.getPartyType())) {
-      return recommendKazerosParty(raidId);
+      return recommendKazerosParty(available, seed);
     } else if ("그림자".equals(raid.getPartyType())) {
-      return recommendShadowParty(raidId);
+      return recommendShadowParty(available, seed);
     }
 
     throw new RuntimeException("알 수 없는 파티 타입입니다: " + raid.getPartyType());
@@ -114,142 +97,124 @@ public class PartyMatchingService {
    * 카제로스 레이드 파티 추천 (8인: 딜러 6, 서폿 2)
    * 같은 유저의 캐릭터는 같은 파티에 포함 안 함
    */
-  private List<Map<String, Object>> recommendKazerosParty(Long raidId) {
-    Map<String, Object> available = getAvailableCharactersForRaid(raidId);
-
-    @SuppressWarnings("unchecked")
-    List<Character> dealers = (List<Character>) available.get("dealers");
-    @SuppressWarnings("unchecked")
-    List<Character> supports = (List<Character>) available.get("supports");
-
-    // ✅ 랜덤 섞기
-    Collections.shuffle(dealers);
-    Collections.shuffle(supports);
-
-    List<Map<String, Object>> recommendations = new ArrayList<>();
-
-    Set<Long> usedUserIds = new HashSet<>();
-    List<Character> selectedDealers = new ArrayList<>();
-    List<Character> selectedSupports = new ArrayList<>();
-
-    // 딜러 6명 선택 (같은 유저 제외)
-    for (Character dealer : dealers) {
-      if (selectedDealers.size() >= 6) break;
-      if (!usedUserIds.contains(dealer.getUser().getId())) {
-        selectedDealers.add(dealer);
-        usedUserIds.add(dealer.getUser().getId());
-      }
-    }
-
-    // 서폿 2명 선택 (같은 유저 제외)
-    for (Character support : supports) {
-      if (selectedSupports.size() >= 2) break;
-      if (!usedUserIds.contains(support.getUser().getId())) {
-        selectedSupports.add(support);
-        usedUserIds.add(support.getUser().getId());
-      }
-    }
-
-    // 파티 구성 가능 여부 확인
-    if (selectedDealers.size() >= 6 && selectedSupports.size() >= 2) {
-      Map<String, Object> party = new HashMap<>();
-      party.put("dealers", selectedDealers);
-      party.put("supports", selectedSupports);
-      party.put("type", "카제로스");
-      party.put("partySize", 8);
-      party.put("dealerCount", 6);
-      party.put("supportCount", 2);
-      recommendations.add(party);
-    }
-
-    return recommendations;
+  private List<Map<String, Object>> recommendKazerosParty(Map<String, Object> available, long seed) {
+    return recommendParties(available, seed, "카제로스", 6, 2);
   }
 
   /**
    * 그림자 레이드 파티 추천 (4인: 딜러 3, 서폿 1)
    * 같은 유저의 캐릭터는 같은 파티에 포함 안 함
    */
-  private List<Map<String, Object>> recommendShadowParty(Long raidId) {
-    Map<String, Object> available = getAvailableCharactersForRaid(raidId);
+  private List<Map<String, Object>> recommendShadowParty(Map<String, Object> available, long seed) {
+    return recommendParties(available, seed, "그림자", 3, 1);
+  }
 
+  /**
+   * 만들 수 있는 최대 수의 파티 추천
+   * ✅ 시드로 섞은 순서대로 캐릭터를 고르므로 같은 시드면 같은 조합이 나온다
+   */
+  private List<Map<String, Object>> recommendParties(Map<String, Object> available, long seed, String type,
+                                                     int dealersPerParty, int supportsPerParty) {
     @SuppressWarnings("unchecked")
     List<Character> dealers = (List<Character>) available.get("dealers");
     @SuppressWarnings("unchecked")
     List<Character> supports = (List<Character>) available.get("supports");
 
-    // ✅ 랜덤 섞기
-    Collections.shuffle(dealers);
-    Collections.shuffle(supports);
+    // ✅ 랜덤 섞기 (시드 고정)
+    Random random = new Random(seed);
+    Collections.shuffle(dealers, random);
+    Collections.shuffle(supports, random);
+
+    long[] dealerOwners = ownerIds(dealers);
+    long[] supportOwners = ownerIds(supports);
+    List<PartyFormationSolver.Party> parties = PartyFormationSolver.solve(
+            dealerOwners, supportOwners, dealersPerParty, supportsPerParty);
+
+    // ✅ 최근 공격대 기록 기준 파티 간 자리 바꾸기 (자주 함께 간 유저는 나누고, 버스는 돌아가며)
+    PartyFairness.improve(parties, dealerOwners, supportOwners, itemLevels(dealers), itemLevels(supports),
+            partyHistoryHolder.get(), random);
 
     List<Map<String, Object>> recommendations = new ArrayList<>();
-    Set<Long> globalUsedUserIds = new HashSet<>();
-
-    while (true) {
-      Set<Long> partyUserIds = new HashSet<>();
-      List<Character> selectedDealers = new ArrayList<>();
-      List<Character> selectedSupports = new ArrayList<>();
-
-      // 딜러 3명 선택
-      for (Character dealer : dealers) {
-        if (selectedDealers.size() >= 3) break;
-        Long userId = dealer.getUser().getId();
-        if (!globalUsedUserIds.contains(userId) && !partyUserIds.contains(userId)) {
-          selectedDealers.add(dealer);
-          partyUserIds.add(userId);
-        }
-      }
-
-      // 서폿 1명 선택
-      for (Character support : supports) {
-        if (selectedSupports.size() >= 1) break;
-        Long userId = support.getUser().getId();
-        if (!globalUsedUserIds.contains(userId) && !partyUserIds.contains(userId)) {
-          selectedSupports.add(support);
-          partyUserIds.add(userId);
-        }
-      }
-
-      // 파티 구성 불가능하면 종료
-      if (selectedDealers.size() < 3 || selectedSupports.size() < 1) {
-        break;
-      }
-
-      // 파티 추가
+    for (PartyFormationSolver.Party solved : parties) {
       Map<String, Object> party = new HashMap<>();
-      party.put("dealers", selectedDealers);
-      party.put("supports", selectedSupports);
-      party.put("type", "그림자");
-      party.put("partySize", 4);
-      party.put("dealerCount", 3);
-      party.put("supportCount", 1);
+      party.put("dealers", pick(dealers, solved.dealers()));
+      party.put("supports", pick(supports, solved.supports()));
+      party.put("type", type);
+      party.put("partySize", dealersPerParty + supportsPerParty);
+      party.put("dealerCount", dealersPerParty);
+      party.put("supportCount", supportsPerParty);
       recommendations.add(party);
-
-      // 사용된 유저 ID 추가
-      globalUsedUserIds.addAll(partyUserIds);
     }
 
     return recommendations;
   }
 
+  // 캐릭터별 유저 ID (유저가 없는 캐릭터는 혼자인 유저로 취급)
+  private long[] ownerIds(List<Character> characters) {
+    long[] ids = new long[characters.size()];
+    for (int i = 0; i < ids.length; i++) {
+      Character character = characters.get(i);
+      ids[i] = character.getUser() != null ? character.getUser().getId() : -character.getId();
+    }
+    return ids;
+  }
+
+  private double[] itemLevels(List<Character> characters) {
+    double[] levels = new double[characters.size()];
+    for (int i = 0; i < levels.length; i++) {
+      Double itemLevel = characters.get(i).getItemLevel();
+      levels[i] = itemLevel != null ? itemLevel : 0.0;
+    }
+    return levels;
+  }
+
+  private List<Character> pick(List<Character> characters, int[] indexes) {
+    List<Character> picked = new ArrayList<>(indexes.length);
+    for (int index : indexes) {
+      picked.add(characters.get(index));
+    }
+    return picked;
+  }
+
   /**
    * 모든 레이드의 파티 추천 조회
+   * ✅ 레이드별 매칭 가능 풀에서 읽어 레이드별 계산은 병렬로 (DB 접근 없음)
+   * 레이드별 실패는 건너뛰지 않고 error에 담아 반환한다. 레이드별 추천과 같은 캐시를 쓴다.
    */
-  public Map<String, List<Map<String, Object>>> getAllPartyRecommendations() {
-    List<Raid> allRaids = raidRepository.findAll();
-    Map<String, List<Map<String, Object>>> result = new HashMap<>();
-
-    for (Raid raid : allRaids) {
-      try {
-        List<Map<String, Object>> recommendations = recommendParty(raid.getId());
-        if (!recommendations.isEmpty()) {
-          result.put(raid.getRaidName(), recommendations);
-        }
-      } catch (Exception e) {
-        // 파티를 구성할 수 없는 레이드는 건너뛰기
-      }
+  public List<RaidRecommendationDTO> getAllPartyRecommendations() {
+    long completionVersion = recommendationCache.getCompletionVersion();
+    long rosterVersion = rosterSnapshotHolder.get().getVersion();
+    LocalDateTime weekStart = WeeklyResetUtil.getCurrentWeekStart();
+
+    List<ForkJoinTask<RaidRecommendationDTO>> tasks = raidCatalog.getRaids().stream()
+            .map(raid -> recommendationPool.submit(() -> recommendForRaid(raid,
+                    new PartyRecommendationCache.Key(raid.getId(), weekStart, rosterVersion, completionVersion))))
+            .toList();
+
+    return tasks.stream().map(ForkJoinTask::join).toList();
+  }
+
+  private RaidRecommendationDTO recommendForRaid(Raid raid, PartyRecommendationCache.Key key) {
+    RaidRecommendationDTO dto = new RaidRecommendationDTO();
+    dto.setRaidId(raid.getId());
+    dto.setRaidName(raid.getRaidName());
+    dto.setDifficulty(raid.getDifficulty());
+    dto.setPartyType(raid.getPartyType());
+
+    try {
+      Map<String, Object> available = availableFor(raid);
+      dto.setAvailableCount((Integer) available.get("totalAvailable"));
+      dto.setParties(recommendationCache.get(key, false, seed -> recommendFor(raid, available, seed)));
+    } catch (RuntimeException e) {
+      dto.setParties(List.of());
+      dto.setError(e.getMessage());
     }
+    return dto;
+  }
 
-    return result;
+  @PreDestroy
+  void shutdownRecommendationPool() {
+    recommendationPool.shutdown();
   }
 
   /**
@@ -261,11 +226,6 @@ public class PartyMatchingService {
     Raid raid = raidRepository.findById(request.getRaidId())
             .orElseThrow(() -> new RuntimeException("레이드를 찾을 수 없습니다."));
 
-    // characterIds를 문자열로 변환
-    String characterIdsStr = request.getCharacterIds().stream()
-            .map(String::valueOf)
-            .collect(Collectors.joining(","));
-
     // ✅ 같은 레이드 그룹의 모든 난이도 가져오기
     String raidGroup = raid.getRaidGroup();
     List<Raid> sameGroupRaids = raidRepository.findByRaidGroup(raidGroup);
@@ -285,14 +245,18 @@ public class PartyMatchingService {
 
       PartyCompletion completion = new PartyCompletion();
       completion.setRaid(groupRaid);
-      completion.setCharacterIds(characterIdsStr);
+      request.getCharacterIds().forEach(completion::addMember);  // ✅ 참여 캐릭터 (party_completion_members)
       completion.setExtraReward(
               request.getExtraReward() != null ? request.getExtraReward() : false
       );
       completion.setActualCompleted(isActualCompleted);  // ✅ 실제 완료 여부 설정
       partyCompletionRepository.save(completion);
+      partyAvailabilityPools.partyCompleted(completion);  // ✅ 커밋 후 매칭 가능 풀에서 제외
+      partyHistoryHolder.partyCompleted(completion);      // ✅ 커밋 후 공격대 기록 요약에 반영
     }
 
+    recommendationCache.completionChanged();
+    dataVersions.charactersChanged(request.getCharacterIds());  // ✅ 커밋 후 참여 캐릭터/유저 버전 올림
     System.out.println("=== 완료 처리 완료 ===");
   }
 
@@ -301,7 +265,7 @@ public class PartyMatchingService {
    */
   public List<PartyCompletion> getCompletedParties(Long raidId) {
     LocalDateTime weekStart = WeeklyResetUtil.getCurrentWeekStart();
-    return partyCompletionRepository.findByRaid_IdAndWeekStart(raidId, weekStart);
+    return partyCompletionRepository.findWithMembersByRaidIdAndWeekStart(raidId, weekStart);
   }
 
 
@@ -316,13 +280,8 @@ public class PartyMatchingService {
     return completedParties.stream()
             .filter(party -> party.getActualCompleted() != null && party.getActualCompleted())
             .map(party -> {
-              // characterIds 문자열을 Long 리스트로 변환
-              List<Long> charIds = Arrays.stream(party.getCharacterIds().split(","))
-                      .map(Long::parseLong)
-                      .collect(Collectors.toList());
-
               // 캐릭터 정보 조회
-              List<Character> characters = characterRepository.findAllById(charIds);
+              List<Character> characters = characterRepository.findAllById(party.getMemberCharacterIds());
 
               Map<String, Object> result = new HashMap<>();
               result.put("id", party.getId());
@@ -342,6 +301,10 @@ public class PartyMatchingService {
     PartyCompletion partyCompletion = partyCompletionRepository.findById(partyCompletionId)
             .orElseThrow(() -> new RuntimeException("완료 기록을 찾을 수 없습니다."));
 
+    partyAvailabilityPools.partyCanceled(partyCompletion);  // ✅ 커밋 후 매칭 가능 풀에 다시 추가
+    partyHistoryHolder.partyCanceled(partyCompletion);
     partyCompletionRepository.delete(partyCompletion);
+    recommendationCache.completionChanged();
+    dataVersions.charactersChanged(partyCompletion.getMemberCharacterIds());
   }
 }
\ No newline at end of file
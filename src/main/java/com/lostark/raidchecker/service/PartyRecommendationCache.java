@@ -0,0 +1,81 @@
+package com.lostark.raidchecker.service;
+
+import com.lostark.raidchecker.util.TransactionUtil;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+/**
+ * ✅ 레이드별 파티 추천 결과 캐시
+ * 추천은 (레이드, 주, 로스터 버전, 완료 버전, 다시 추천 횟수)로 만든 시드로 섞으므로 같은 키면 같은 결과다.
+ * 키가 바뀌기 전까지는 저장된 결과를 그대로 돌려주고, reroll이면 다시 추천 횟수를 올려 새 시드로 계산한다.
+ * 완료 버전은 공격대 완료/취소/주간 데이터 초기화가 커밋될 때마다 올라간다.
+ */
+@Component
+public class PartyRecommendationCache {
+
+  private final AtomicLong completionVersion = new AtomicLong();
+  private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+  public record Key(Long raidId, LocalDateTime weekStart, long rosterVersion, long completionVersion) {
+  }
+
+  private record Entry(Key key, int rerollCount, List<Map<String, Object>> recommendations) {
+  }
+
+  // 완료 기록이 바뀔 때 (커밋 후 반영)
+  public void completionChanged() {
+    TransactionUtil.afterCommit(completionVersion::incrementAndGet);
+  }
+
+  // 이번 주 데이터 초기화 (커밋 후)
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  @Order(0)
+  public void rosterChanged(RosterChangedEvent event) {
+    if (event.type() == RosterChangedEvent.Type.WEEK_RESET) {
+      completionVersion.incrementAndGet();
+    }
+  }
+
+  // 데이터 조회 전에 읽어 두어야 한다 (조회 도중 바뀌면 다음 요청에서 다시 계산되도록)
+  public long getCompletionVersion() {
+    return completionVersion.get();
+  }
+
+  /**
+   * 캐시된 추천 (없거나 키가 바뀌었거나 reroll이면 compute(시드)로 계산해 저장)
+   */
+  public List<Map<String, Object>> get(Key key, boolean reroll, LongFunction<List<Map<String, Object>>> compute) {
+    Entry current = entries.get(key.raidId());
+    if (!reroll && current != null && current.key().equals(key)) {
+      return current.recommendations();
+    }
+
+    // 다시 추천 횟수는 버전이 바뀌어도 유지
+    int rerollCount = current != null ? current.rerollCount() : 0;
+    if (reroll) {
+      rerollCount++;
+    }
+
+    List<Map<String, Object>> recommendations = compute.apply(seedOf(key, rerollCount));
+    entries.put(key.raidId(), new Entry(key, rerollCount, recommendations));
+    return recommendations;
+  }
+
+  private long seedOf(Key key, int rerollCount) {
+    long seed = key.raidId();
+    seed = seed * 31 + key.weekStart().hashCode();
+    seed = seed * 31 + key.rosterVersion();
+    seed = seed * 31 + key.completionVersion();
+    seed = seed * 31 + rerollCount;
+    return seed;
+  }
+}
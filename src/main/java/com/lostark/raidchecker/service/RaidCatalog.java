@@ -0,0 +1,129 @@
+package com.lostark.raidchecker.service;
+
+import com.lostark.raidchecker.entity.Raid;
+import com.lostark.raidchecker.entity.RaidGate;
+import com.lostark.raidchecker.repository.RaidRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * ✅ 레이드/관문 목록 메모리 캐시
+ * 레이드 데이터는 DataInitializer가 한 번 생성한 뒤 바뀌지 않으므로 첫 조회 시 한 번만 읽는다.
+ * 레이드와 레이드 그룹에는 orderIndex 순으로 0부터 번호를 붙여 비트마스크 인덱스로 쓴다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RaidCatalog {
+
+  private final RaidRepository raidRepository;
+
+  private volatile Catalog catalog;
+
+  // 전체 레이드 (orderIndex 순, 관문 포함)
+  public List<Raid> getRaids() {
+    return catalog().raids;
+  }
+
+  // 아이템 레벨에 맞는 레이드 (orderIndex 순)
+  public List<Raid> getRaidsAvailableFor(Double itemLevel) {
+    if (itemLevel == null) {
+      return List.of();
+    }
+    return getRaids().stream()
+            .filter(raid -> raid.getRequiredItemLevel() <= itemLevel)
+            .toList();
+  }
+
+  public Raid getRaid(Long raidId) {
+    Integer index = catalog().raidIndexById.get(raidId);
+    if (index == null) {
+      throw new RuntimeException("레이드를 찾을 수 없습니다.");
+    }
+    return catalog().raids.get(index);
+  }
+
+  public RaidGate getGate(Long raidGateId) {
+    RaidGate gate = catalog().gateById.get(raidGateId);
+    if (gate == null) {
+      throw new RuntimeException("관문을 찾을 수 없습니다.");
+    }
+    return gate;
+  }
+
+  // 레이드 번호 (orderIndex 순 0부터)
+  public int getRaidIndex(Long raidId) {
+    Integer index = catalog().raidIndexById.get(raidId);
+    if (index == null) {
+      throw new RuntimeException("레이드를 찾을 수 없습니다.");
+    }
+    return index;
+  }
+
+  // 레이드 그룹 번호 (처음 등장한 orderIndex 순 0부터)
+  public int getGroupIndex(String raidGroup) {
+    Integer index = catalog().groupIndexByName.get(raidGroup);
+    if (index == null) {
+      throw new RuntimeException("레이드 그룹을 찾을 수 없습니다: " + raidGroup);
+    }
+    return index;
+  }
+
+  // 같은 레이드 그룹의 레이드 번호들 (난이도별)
+  public int[] getRaidIndexesInGroup(int groupIndex) {
+    return catalog().raidIndexesByGroup[groupIndex];
+  }
+
+  public int getRaidCount() {
+    return catalog().raids.size();
+  }
+
+  // 레이드 데이터가 바뀐 경우 다음 조회 시 다시 읽기
+  public void refresh() {
+    catalog = null;
+  }
+
+  private Catalog catalog() {
+    Catalog cached = catalog;
+    if (cached == null) {
+      cached = new Catalog(raidRepository.findAllWithGates());
+      catalog = cached;
+    }
+    return cached;
+  }
+
+  private static class Catalog {
+    private final List<Raid> raids;
+    private final Map<Long, Integer> raidIndexById = new HashMap<>();
+    private final Map<Long, RaidGate> gateById = new HashMap<>();
+    private final Map<String, Integer> groupIndexByName = new LinkedHashMap<>();
+    private final int[][] raidIndexesByGroup;
+
+    private Catalog(List<Raid> loaded) {
+      this.raids = List.copyOf(loaded);
+
+      List<List<Integer>> groups = new ArrayList<>();
+      for (int i = 0; i < raids.size(); i++) {
+        Raid raid = raids.get(i);
+        raidIndexById.put(raid.getId(), i);
+        for (RaidGate gate : raid.getGates()) {
+          gateById.put(gate.getId(), gate);
+        }
+
+        Integer groupIndex = groupIndexByName.get(raid.getRaidGroup());
+        if (groupIndex == null) {
+          groupIndex = groups.size();
+          groupIndexByName.put(raid.getRaidGroup(), groupIndex);
+          groups.add(new ArrayList<>());
+        }
+        groups.get(groupIndex).add(i);
+      }
+
+      raidIndexesByGroup = new int[groups.size()][];
+      for (int g = 0; g < groups.size(); g++) {
+        raidIndexesByGroup[g] = groups.get(g).stream().mapToInt(Integer::intValue).toArray();
+      }
+    }
+  }
+}
@@ -0,0 +1,82 @@
+package com.lostark.raidchecker.service;
+
+import com.lostark.raidchecker.util.TransactionUtil;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * ✅ 유저별 레이드 비교 행렬 캐시
+ * 유저 캐릭터의 관문이 바뀌거나(CompletionProjector.record) 캐릭터/유저가 바뀌면(RosterChangedEvent) 커밋 후 지운다.
+ * 계산 도중 무효화가 있었으면 계산 결과를 저장하지 않는다 (오래된 결과가 남지 않도록).
+ */
+@Component
+public class RaidComparisonCache {
+
+  private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+  private final AtomicLong invalidations = new AtomicLong();
+
+  private record Entry(LocalDateTime weekStart, RaidComparisonMatrix matrix) {
+  }
+
+  public RaidComparisonMatrix get(Long userId, LocalDateTime weekStart, Supplier<RaidComparisonMatrix> compute) {
+    Entry cached = entries.get(userId);
+    if (cached != null && cached.weekStart().equals(weekStart)) {
+      return cached.matrix();
+    }
+
+    long before = invalidations.get();
+    RaidComparisonMatrix matrix = compute.get();
+    if (invalidations.get() == before) {
+      entries.put(userId, new Entry(weekStart, matrix));
+    }
+    return matrix;
+  }
+
+  // 캐릭터 관문 변경 (그 캐릭터가 있는 유저 행렬 삭제)
+  public void characterChanged(Long characterId) {
+    afterCommit(() -> removeCharacter(characterId));
+  }
+
+  // 캐릭터/유저 변경, 이번 주 데이터 초기화 (커밋 후)
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  @Order(0)
+  public void rosterChanged(RosterChangedEvent event) {
+    invalidations.incrementAndGet();
+    switch (event.type()) {
+      case CHARACTER_UPDATED, USER_REMOVED -> {
+        // 소속 유저 행렬 삭제 (유저가 없는 캐릭터는 그 캐릭터가 있는 행렬)
+        if (event.userId() != null) {
+          entries.remove(event.userId());
+        } else {
+          removeCharacter(event.characterId());
+        }
+      }
+      case CHARACTER_REMOVED -> removeCharacter(event.characterId());
+      case WEEK_RESET -> entries.clear();
+    }
+  }
+
+  // 집계 재생성
+  public void clear() {
+    afterCommit(entries::clear);
+  }
+
+  private void removeCharacter(Long characterId) {
+    entries.values().removeIf(entry -> entry.matrix().containsCharacter(characterId));
+  }
+
+  private void afterCommit(Runnable invalidate) {
+    TransactionUtil.afterCommit(() -> {
+      invalidations.incrementAndGet();
+      invalidate.run();
+    });
+  }
+}
@@ -0,0 +1,119 @@
+package com.lostark.raidchecker.service;
+
+import com.lostark.raidchecker.dto.RaidComparisonDTO;
+import com.lostark.raidchecker.entity.Raid;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ✅ 유저 1명의 이번 주 레이드 비교 (불변)
+ * 레이드 번호(레이드 카탈로그 순) × 캐릭터 번호(캐릭터 id 순) 행렬.
+ * 완료 여부는 캐릭터마다 레이드 비트(long 단어 배열), 골드는 int 배열 1개에 [캐릭터][레이드] 순으로 담는다.
+ */
+public final class RaidComparisonMatrix {
+
+  private final List<Raid> raids;
+  private final long[] characterIds;
+  private final String[] characterNames;
+  private final double[] itemLevels;
+  private final int words;           // 캐릭터당 완료 비트 단어 수
+  private final long[] completedBits;
+  private final int[] earnedGold;
+
+  private RaidComparisonMatrix(List<Raid> raids, List<Long> characterIds, List<String> characterNames,
+                               List<Double> itemLevels) {
+    int characters = characterIds.size();
+    this.raids = raids;
+    this.characterIds = characterIds.stream().mapToLong(Long::longValue).toArray();
+    this.characterNames = characterNames.toArray(String[]::new);
+    this.itemLevels = itemLevels.stream().mapToDouble(Double::doubleValue).toArray();
+    this.words = (raids.size() + 63) / 64;
+    this.completedBits = new long[characters * words];
+    this.earnedGold = new int[characters * raids.size()];
+  }
+
+  /**
+   * @param raids 전체 레이드 (표시 순서)
+   * @param rows  [캐릭터 ID, 캐릭터명, 아이템 레벨, 레이드 ID, 완료, 골드] 캐릭터 ID 순
+   *              (기록이 없는 캐릭터는 레이드 ID 이후 null인 행 1개)
+   */
+  public static RaidComparisonMatrix of(List<Raid> raids, List<Object[]> rows) {
+    Map<Long, Integer> raidIndexById = new HashMap<>();
+    for (int r = 0; r < raids.size(); r++) {
+      raidIndexById.put(raids.get(r).getId(), r);
+    }
+
+    // 캐릭터 목록 (행이 캐릭터 ID 순이므로 ID가 바뀔 때마다 새 캐릭터)
+    List<Long> characterIds = new ArrayList<>();
+    List<String> characterNames = new ArrayList<>();
+    List<Double> itemLevels = new ArrayList<>();
+    for (Object[] row : rows) {
+      Long characterId = (Long) row[0];
+      if (characterIds.isEmpty() || !characterIds.get(characterIds.size() - 1).equals(characterId)) {
+        characterIds.add(characterId);
+        characterNames.add((String) row[1]);
+        itemLevels.add(row[2] != null ? (Double) row[2] : 0.0);
+      }
+    }
+
+    RaidComparisonMatrix matrix = new RaidComparisonMatrix(raids, characterIds, characterNames, itemLevels);
+    int c = -1;
+    Long previousId = null;
+    for (Object[] row : rows) {
+      if (!row[0].equals(previousId)) {
+        c++;
+        previousId = (Long) row[0];
+      }
+      Integer r = row[3] != null ? raidIndexById.get((Long) row[3]) : null;
+      if (r == null || !Boolean.TRUE.equals(row[4])) {
+        continue;
+      }
+      matrix.completedBits[c * matrix.words + (r >>> 6)] |= 1L << (r & 63);
+      matrix.earnedGold[c * raids.size() + r] = row[5] != null ? (Integer) row[5] : 0;
+    }
+    return matrix;
+  }
+
+  public boolean containsCharacter(long characterId) {
+    for (long id : characterIds) {
+      if (id == characterId) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * 응답 DTO (아이템 레벨이 부족한 레이드는 완료 기록이 있어도 미완료/0골드)
+   */
+  public RaidComparisonDTO toDTO() {
+    List<RaidComparisonDTO.RaidRow> rows = new ArrayList<>(raids.size());
+    for (int r = 0; r < raids.size(); r++) {
+      Raid raid = raids.get(r);
+      List<RaidComparisonDTO.CharacterCompletion> characters = new ArrayList<>(characterIds.length);
+      for (int c = 0; c < characterIds.length; c++) {
+        boolean available = itemLevels[c] >= raid.getRequiredItemLevel();
+        boolean completed = available && (completedBits[c * words + (r >>> 6)] & (1L << (r & 63))) != 0;
+        characters.add(new RaidComparisonDTO.CharacterCompletion(
+                characterIds[c],
+                characterNames[c],
+                completed,
+                completed ? earnedGold[c * raids.size() + r] : 0,
+                available
+        ));
+      }
+      rows.add(new RaidComparisonDTO.RaidRow(
+              raid.getId(),
+              raid.getRaidName(),
+              raid.getDifficulty(),
+              raid.getRequiredItemLevel(),
+              raid.getRewardGold(),
+              characters
+      ));
+    }
+    return new RaidComparisonDTO(rows);
+  }
+}
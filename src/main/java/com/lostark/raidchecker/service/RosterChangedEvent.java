@@ -0,0 +1,49 @@
+package com.lostark.raidchecker.service;
+
+import com.lostark.raidchecker.entity.Character;
+
+/**
+ * ✅ 캐릭터/유저/이번 주 데이터 변경 이벤트 (CharacterService, MasterService에서 발행)
+ * 로스터 스냅샷, 파티 풀, 공격대 기록, 추천 캐시, 대시보드, 레이드 비교, 데이터 버전이
+ * @TransactionalEventListener(AFTER_COMMIT)로 커밋 후에 받아 반영한다 (트랜잭션 밖에서 발행하면 바로).
+ * 리스너는 이미 커밋 후 단계이므로 TransactionUtil.afterCommit을 거치지 않고 바로 반영한다
+ * (이 단계에서 등록한 afterCommit은 실행되지 않음).
+ * 캐시 리스너는 @Order(0), DataVersions는 기본 순서(마지막)라 캐시가 바뀐 뒤에 ETag가 바뀐다.
+ *
+ * @param character 발행 시점 캐릭터 복사본 (캐릭터 변경/삭제만)
+ * @param userId    캐릭터 소유 유저 또는 삭제된 유저 (없으면 null)
+ */
+public record RosterChangedEvent(Type type, Character character, Long userId) {
+
+  public enum Type {
+    CHARACTER_UPDATED,  // 캐릭터 등록/동기화/골드 우선순위 변경
+    CHARACTER_REMOVED,  // 캐릭터 삭제
+    USER_REMOVED,       // 유저 삭제 (소속 캐릭터 전체)
+    WEEK_RESET          // 이번 주 데이터 초기화
+  }
+
+  public static RosterChangedEvent characterUpdated(Character character) {
+    return ofCharacter(Type.CHARACTER_UPDATED, character);
+  }
+
+  public static RosterChangedEvent characterRemoved(Character character) {
+    return ofCharacter(Type.CHARACTER_REMOVED, character);
+  }
+
+  public static RosterChangedEvent userRemoved(Long userId) {
+    return new RosterChangedEvent(Type.USER_REMOVED, null, userId);
+  }
+
+  public static RosterChangedEvent weekReset() {
+    return new RosterChangedEvent(Type.WEEK_RESET, null, null);
+  }
+
+  public Long characterId() {
+    return character != null ? character.getId() : null;
+  }
+
+  private static RosterChangedEvent ofCharacter(Type type, Character character) {
+    Character copy = RosterSnapshot.copyOf(character);
+    return new RosterChangedEvent(type, copy, copy.getUser() != null ? copy.getUser().getId() : null);
+  }
+}
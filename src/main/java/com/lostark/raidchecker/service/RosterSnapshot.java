@@ -0,0 +1,197 @@
+package com.lostark.raidchecker.service;
+
+import com.lostark.raidchecker.entity.Character;
+import com.lostark.raidchecker.entity.User;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * ✅ 전체 캐릭터 로스터 스냅샷 (불변)
+ * 캐릭터 정보를 아이템 레벨 오름차순의 기본형 배열로 들고 있어
+ * 레이드 입장 가능 캐릭터 = 이진 탐색으로 찾은 시작 위치부터 끝까지.
+ * 변경은 복사본을 만들어 교체한다 (RosterSnapshotHolder). 복사본은 version + 1.
+ */
+public final class RosterSnapshot {
+
+  // 서폿 클래스 목록
+  private static final Set<String> SUPPORT_CLASSES = Set.of(
+          "바드", "홀리나이트", "도화가", "발키리"
+  );
+
+  private final long version;
+  private final Character[] characters;  // 응답용 캐릭터 (스냅샷 생성 시점 값)
+  private final long[] characterIds;
+  private final long[] userIds;          // 유저가 없는 캐릭터는 -캐릭터 ID (혼자인 유저로 취급)
+  private final double[] itemLevels;
+  private final boolean[] supports;
+  private final int[] goldPriorities;
+
+  // characters는 아이템 레벨 오름차순으로 정렬된 상태여야 한다
+  private RosterSnapshot(Character[] characters, long version) {
+    int size = characters.length;
+    this.version = version;
+    this.characters = characters;
+    this.characterIds = new long[size];
+    this.userIds = new long[size];
+    this.itemLevels = new double[size];
+    this.supports = new boolean[size];
+    this.goldPriorities = new int[size];
+
+    for (int i = 0; i < size; i++) {
+      Character character = characters[i];
+      characterIds[i] = character.getId();
+      userIds[i] = character.getUser() != null ? character.getUser().getId() : -character.getId();
+      itemLevels[i] = itemLevelOf(character);
+      supports[i] = isSupportClass(character.getClassName());
+      goldPriorities[i] = character.getGoldPriority() != null ? character.getGoldPriority() : Integer.MAX_VALUE;
+    }
+  }
+
+  public static RosterSnapshot of(List<Character> characters, long version) {
+    Character[] sorted = characters.stream().map(RosterSnapshot::copyOf).toArray(Character[]::new);
+    Arrays.sort(sorted, ORDER);
+    return new RosterSnapshot(sorted, version);
+  }
+
+  public static boolean isSupportClass(String className) {
+    return SUPPORT_CLASSES.contains(className);
+  }
+
+  /**
+   * 캐릭터 추가/변경 (같은 ID가 있으면 교체)
+   */
+  public RosterSnapshot with(Character changed) {
+    Character character = copyOf(changed);
+    Character[] base = remove(character.getId());
+    int position = Arrays.binarySearch(base, character, ORDER);
+    int insertAt = position >= 0 ? position : -position - 1;
+
+    Character[] next = new Character[base.length + 1];
+    System.arraycopy(base, 0, next, 0, insertAt);
+    next[insertAt] = character;
+    System.arraycopy(base, insertAt, next, insertAt + 1, base.length - insertAt);
+    return new RosterSnapshot(next, version + 1);
+  }
+
+  /**
+   * 캐릭터 삭제 (없으면 그대로)
+   */
+  public RosterSnapshot without(Long characterId) {
+    Character[] next = remove(characterId);
+    return next == characters ? this : new RosterSnapshot(next, version + 1);
+  }
+
+  /**
+   * 유저의 캐릭터 전체 삭제
+   */
+  public RosterSnapshot withoutUser(Long userId) {
+    Character[] next = Arrays.stream(characters)
+            .filter(c -> c.getUser() == null || !c.getUser().getId().equals(userId))
+            .toArray(Character[]::new);
+    return next.length == characters.length ? this : new RosterSnapshot(next, version + 1);
+  }
+
+  /**
+   * 아이템 레벨이 requiredItemLevel 이상인 첫 위치 (없으면 size)
+   */
+  public int firstEligibleIndex(double requiredItemLevel) {
+    int low = 0;
+    int high = itemLevels.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (itemLevels[mid] < requiredItemLevel) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  public int size() {
+    return characters.length;
+  }
+
+  public Character getCharacter(int index) {
+    return characters[index];
+  }
+
+  public long getCharacterId(int index) {
+    return characterIds[index];
+  }
+
+  public long getUserId(int index) {
+    return userIds[index];
+  }
+
+  // 캐릭터의 유저 ID (스냅샷에 없거나 유저가 없으면 null)
+  public Long getUserIdOf(long characterId) {
+    for (int i = 0; i < characterIds.length; i++) {
+      if (characterIds[i] == characterId) {
+        return userIds[i] > 0 ? userIds[i] : null;
+      }
+    }
+    return null;
+  }
+
+  public double getItemLevel(int index) {
+    return itemLevels[index];
+  }
+
+  public boolean isSupport(int index) {
+    return supports[index];
+  }
+
+  public int getGoldPriority(int index) {
+    return goldPriorities[index];
+  }
+
+  private Character[] remove(Long characterId) {
+    for (int i = 0; i < characters.length; i++) {
+      if (characterIds[i] == characterId) {
+        Character[] next = new Character[characters.length - 1];
+        System.arraycopy(characters, 0, next, 0, i);
+        System.arraycopy(characters, i + 1, next, i, characters.length - i - 1);
+        return next;
+      }
+    }
+    return characters;
+  }
+
+  // 영속성 컨텍스트와 무관한 복사본 (유저는 ID만)
+  static Character copyOf(Character source) {
+    Character copy = new Character();
+    copy.setId(source.getId());
+    copy.setCharacterName(source.getCharacterName());
+    copy.setServerName(source.getServerName());
+    copy.setClassName(source.getClassName());
+    copy.setItemLevel(source.getItemLevel());
+    copy.setGuildName(source.getGuildName());
+    copy.setGoldPriority(source.getGoldPriority());
+    copy.setCreatedAt(source.getCreatedAt());
+    copy.setWeeklyCompletions(null);
+    if (source.getUser() != null) {
+      User user = new User();
+      user.setId(source.getUser().getId());
+      user.setCharacters(null);
+      copy.setUser(user);
+    }
+    return copy;
+  }
+
+  private static double itemLevelOf(Character character) {
+    return character.getItemLevel() != null ? character.getItemLevel() : 0.0;
+  }
+
+  // 아이템 레벨 오름차순, 같으면 ID 순
+  private static final Comparator<Character> ORDER = Comparator
+          .comparingDouble(RosterSnapshot::itemLevelOf)
+          .thenComparing(Character::getId);
+}
@@ -0,0 +1,67 @@
+package com.lostark.raidchecker.service;
+
+import com.lostark.raidchecker.repository.CharacterRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * ✅ 로스터 스냅샷 보관
+ * 첫 조회 시 전체 캐릭터를 한 번 읽고, 이후에는 캐릭터 등록/동기화/삭제, 유저 삭제(RosterChangedEvent)를
+ * 커밋 후에 복사본으로 반영한다 (롤백된 변경은 반영되지 않음).
+ * 스냅샷이 바뀔 때마다 버전이 1씩 올라간다 (추천 결과 캐시 키).
+ */
+@Component
+@RequiredArgsConstructor
+public class RosterSnapshotHolder {
+
+  private final CharacterRepository characterRepository;
+
+  private volatile RosterSnapshot snapshot;
+  private long lastVersion;  // 마지막 스냅샷 버전 (다시 읽어도 버전이 되돌아가지 않도록)
+
+  public RosterSnapshot get() {
+    RosterSnapshot cached = snapshot;
+    if (cached == null) {
+      synchronized (this) {
+        cached = snapshot;
+        if (cached == null) {
+          cached = RosterSnapshot.of(characterRepository.findAll(), ++lastVersion);
+          snapshot = cached;
+        }
+      }
+    }
+    return cached;
+  }
+
+  // 캐릭터/유저 변경 (커밋 후)
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  @Order(0)
+  public void rosterChanged(RosterChangedEvent event) {
+    switch (event.type()) {
+      case CHARACTER_UPDATED -> apply(current -> current.with(event.character()));
+      case CHARACTER_REMOVED -> apply(current -> current.without(event.characterId()));
+      case USER_REMOVED -> apply(current -> current.withoutUser(event.userId()));
+      case WEEK_RESET -> {
+        // 캐릭터는 그대로
+      }
+    }
+  }
+
+  // 다음 조회 시 전체 다시 읽기
+  public synchronized void refresh() {
+    snapshot = null;
+  }
+
+  private synchronized void apply(UnaryOperator<RosterSnapshot> change) {
+    // 아직 읽지 않았다면 첫 조회 때 최신 상태를 읽으므로 반영할 필요 없음
+    if (snapshot != null) {
+      snapshot = change.apply(snapshot);
+      lastVersion = snapshot.getVersion();
+    }
+  }
+}
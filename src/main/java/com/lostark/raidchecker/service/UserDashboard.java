@@ -0,0 +1,154 @@
+package com.lostark.raidchecker.service;
+
+import com.lostark.raidchecker.dto.AccountSummaryDTO;
+import com.lostark.raidchecker.entity.Character;
+import com.lostark.raidchecker.entity.Raid;
+import com.lostark.raidchecker.repository.CharacterWeekSummaryRepository.AccountSummaryRow;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * ✅ 유저 1명의 이번 주 계정 통계 (불변)
+ * 캐릭터별 골드/완료 수(findAccountSummaryRows 행)와 계정 골드 합계(골드 우선순위 6 이하 캐릭터만)를 들고 있다.
+ * 변경은 바뀐 캐릭터 열만 교체한 복사본으로 한다 (UserDashboardStore).
+ * 레이드 비교는 RaidComparisonMatrix (RaidComparisonCache)에서 따로 만든다.
+ */
+public final class UserDashboard {
+
+  // 골드 우선순위가 이 값 이하인 캐릭터만 계정 골드에 포함
+  private static final int MAX_GOLD_PRIORITY = 6;
+
+  /**
+   * 캐릭터 1명의 열 (캐릭터 정보 + 이번 주 골드/완료 수)
+   */
+  public record Column(long characterId, String characterName, String className, Double itemLevel,
+                       Integer goldPriority, int earnedGold, int completedCount) {
+
+    static Column of(AccountSummaryRow row) {
+      return new Column(row.getId(), row.getCharacterName(), row.getClassName(), row.getItemLevel(),
+              row.getGoldPriority(), row.getEarnedGold(), row.getCompletedCount());
+    }
+
+    // 완료 기록이 없는 캐릭터 (새로 등록)
+    static Column empty(Character character) {
+      return new Column(character.getId(), character.getCharacterName(), character.getClassName(),
+              character.getItemLevel(), character.getGoldPriority(), 0, 0);
+    }
+
+    // 캐릭터 정보만 바꾼 열 (골드/완료 수 유지)
+    Column withInfo(Character character) {
+      return new Column(characterId, character.getCharacterName(), character.getClassName(),
+              character.getItemLevel(), character.getGoldPriority(), earnedGold, completedCount);
+    }
+
+    // 관문 변경 증감 (주간 집계와 같은 값)
+    Column plus(int goldDelta, int completedDelta) {
+      return new Column(characterId, characterName, className, itemLevel, goldPriority,
+              earnedGold + goldDelta, completedCount + completedDelta);
+    }
+
+    boolean earnsGold() {
+      return goldPriority != null && goldPriority <= MAX_GOLD_PRIORITY;
+    }
+  }
+
+  private final Long userId;  // 유저가 없는 캐릭터 묶음은 null
+  private final LocalDateTime weekStart;
+  private final List<Raid> raids;
+  private final List<Column> columns;  // 캐릭터 id 순
+  private final int totalGold;
+
+  public UserDashboard(Long userId, LocalDateTime weekStart, List<Raid> raids, List<Column> columns) {
+    this.userId = userId;
+    this.weekStart = weekStart;
+    this.raids = raids;
+    this.columns = columns.stream().sorted(Comparator.comparingLong(Column::characterId)).toList();
+    this.totalGold = this.columns.stream().filter(Column::earnsGold).mapToInt(Column::earnedGold).sum();
+  }
+
+  public Long getUserId() {
+    return userId;
+  }
+
+  public LocalDateTime getWeekStart() {
+    return weekStart;
+  }
+
+  public List<Column> getColumns() {
+    return columns;
+  }
+
+  public int getTotalGold() {
+    return totalGold;
+  }
+
+  public Column getColumn(long characterId) {
+    for (Column column : columns) {
+      if (column.characterId() == characterId) {
+        return column;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * 캐릭터 열 추가/교체
+   */
+  public UserDashboard with(Column changed) {
+    List<Column> next = new ArrayList<>(columns.size() + 1);
+    for (Column column : columns) {
+      if (column.characterId() != changed.characterId()) {
+        next.add(column);
+      }
+    }
+    next.add(changed);
+    return new UserDashboard(userId, weekStart, raids, next);
+  }
+
+  /**
+   * 캐릭터 열 삭제 (없으면 그대로)
+   */
+  public UserDashboard without(long characterId) {
+    if (getColumn(characterId) == null) {
+      return this;
+    }
+    return new UserDashboard(userId, weekStart, raids,
+            columns.stream().filter(column -> column.characterId() != characterId).toList());
+  }
+
+  /**
+   * 계정 통계 (완료율 분모 = 아이템 레벨로 입장 가능한 레이드 수)
+   */
+  public List<AccountSummaryDTO.CharacterSummary> toCharacterSummaries() {
+    List<AccountSummaryDTO.CharacterSummary> summaries = new ArrayList<>(columns.size());
+    for (Column column : columns) {
+      // 체크리스트가 없는 캐릭터도 아이템 레벨 기준 레이드 수로 집계
+      int totalRaidCount = 0;
+      for (Raid raid : raids) {
+        if (column.itemLevel() != null && raid.getRequiredItemLevel() <= column.itemLevel()) {
+          totalRaidCount++;
+        }
+      }
+
+      double completionRate = totalRaidCount > 0
+              ? (column.completedCount() * 100.0 / totalRaidCount)
+              : 0.0;
+
+      summaries.add(new AccountSummaryDTO.CharacterSummary(
+              column.characterId(),
+              column.characterName(),
+              column.className(),
+              column.itemLevel(),
+              column.goldPriority(),
+              column.earnedGold(),
+              column.completedCount(),
+              totalRaidCount,
+              Math.round(completionRate * 10) / 10.0  // 소수점 1자리
+      ));
+    }
+    return summaries;
+  }
+}
@@ -0,0 +1,255 @@
+package com.lostark.raidchecker.service;
+
+import com.lostark.raidchecker.dto.RaidComparisonDTO;
+import com.lostark.raidchecker.entity.Character;
+import com.lostark.raidchecker.repository.CharacterWeekSummaryRepository;
+import com.lostark.raidchecker.repository.CharacterWeekSummaryRepository.AccountSummaryRow;
+import com.lostark.raidchecker.repository.CompletionProjectionRepository.Counters;
+import com.lostark.raidchecker.repository.WeeklyCompletionRepository;
+import com.lostark.raidchecker.util.TransactionUtil;
+import com.lostark.raidchecker.util.WeeklyResetUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * ✅ 유저별 이번 주 대시보드 (계정 통계 / 레이드 비교 / 캐릭터 골드를 메모리에서 응답)
+ * - 계정 통계, 캐릭터 골드: 첫 조회 또는 주가 바뀐 뒤 첫 조회 때 findAccountSummaryRows(SQL 1회)로 전체를 만들고,
+ *   이후에는 커밋 후에 바뀐 부분만 반영한다 (유저가 없는 캐릭터는 null 유저로 묶어 전체 통계에 포함).
+ *   · 관문 변경 (CompletionProjector.record): 주간 집계에 더한 골드/완료 수 증감을 그대로 더함 (DB 조회 없음)
+ *   · 캐릭터/유저 변경, 주간 데이터 초기화 (RosterChangedEvent)
+ *     캐릭터 등록/동기화/골드 우선순위: 캐릭터 정보만 교체 / 캐릭터·유저 삭제: 열/대시보드 삭제 / 초기화: 전체 삭제
+ *   · 집계 재생성: 전체 삭제 (다음 조회 때 다시 생성)
+ * - 레이드 비교: 유저별 RaidComparisonMatrix (RaidComparisonCache), 위 변경 때 해당 유저 행렬을 지운다
+ * 읽기는 잠금 없이 현재 상태를 그대로 쓰고, 변경은 복사본으로 교체한다.
+ *
+ * 관문 변경 커밋과 전체 생성이 겹치면 생성 결과에 그 변경이 들어갔는지 알 수 없으므로
+ * (증감을 두 번 더하지 않도록) 그 결과는 응답에만 쓰고 저장하지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserDashboardStore {
+
+  private final CharacterWeekSummaryRepository characterWeekSummaryRepository;
+  private final WeeklyCompletionRepository weeklyCompletionRepository;
+  private final RaidCatalog raidCatalog;
+  private final RaidComparisonCache raidComparisonCache;
+
+  private final AtomicLong committedChanges = new AtomicLong();     // 커밋을 시작한 관문 변경 수 (증가만)
+  private final AtomicInteger unappliedChanges = new AtomicInteger();  // 커밋을 시작했지만 아직 끝나지 않은 관문 변경 수
+
+  private volatile State state;
+
+  // byUser / userIdByCharacter: 유저가 없는 캐릭터는 null 유저
+  private record State(LocalDateTime weekStart, Map<Long, UserDashboard> byUser, Map<Long, Long> userIdByCharacter) {
+  }
+
+  public UserDashboard get(Long userId) {
+    State current = state();
+    UserDashboard dashboard = current.byUser().get(userId);
+    return dashboard != null
+            ? dashboard
+            : new UserDashboard(userId, current.weekStart(), raidCatalog.getRaids(), List.of());
+  }
+
+  public Collection<UserDashboard> getAll() {
+    return state().byUser().values();
+  }
+
+  // 캐릭터 이번 주 골드 (골드 우선순위와 무관한 캐릭터 자체 골드)
+  public int getCharacterGold(Long characterId) {
+    State current = state();
+    if (!current.userIdByCharacter().containsKey(characterId)) {
+      return 0;
+    }
+    UserDashboard.Column column = current.byUser().get(current.userIdByCharacter().get(characterId)).getColumn(characterId);
+    return column != null ? column.earnedGold() : 0;
+  }
+
+  // 레이드 비교 (유저 캐릭터 + 이번 주 완료 기록을 SQL 1회로 읽어 만든 행렬, 바뀔 때까지 캐시)
+  public RaidComparisonDTO getRaidComparison(Long userId) {
+    LocalDateTime weekStart = WeeklyResetUtil.getCurrentWeekStart();
+    RaidComparisonMatrix matrix = raidComparisonCache.get(userId, weekStart, () -> RaidComparisonMatrix.of(
+            raidCatalog.getRaids(),
+            weeklyCompletionRepository.findRaidComparisonRows(userId, weekStart)));
+    return matrix.toDTO();
+  }
+
+  /**
+   * 관문 변경 (CompletionProjector.record에서 캐릭터/주마다, 호출한 트랜잭션 안에서)
+   * 커밋 후 주간 집계에 더한 것과 같은 골드/완료 레이드 증감을 더한다.
+   */
+  public void completionsChanged(Long characterId, LocalDateTime weekStart, Counters delta) {
+    raidComparisonCache.characterChanged(characterId);
+    if (delta.gold() == 0 && delta.raids() == 0) {
+      return;
+    }
+
+    Runnable apply = () -> update(current -> current.weekStart().equals(weekStart)
+            ? withColumn(current, characterId, column -> column.plus(delta.gold(), delta.raids()))
+            : current);
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      apply.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      private boolean committing;
+
+      @Override
+      public void beforeCommit(boolean readOnly) {
+        committing = true;
+        unappliedChanges.incrementAndGet();
+        committedChanges.incrementAndGet();
+      }
+
+      @Override
+      public void afterCommit() {
+        apply.run();
+      }
+
+      @Override
+      public void afterCompletion(int status) {
+        if (committing) {
+          unappliedChanges.decrementAndGet();
+        }
+      }
+    });
+  }
+
+  // 캐릭터/유저 변경, 이번 주 데이터 초기화 (커밋 후, 레이드 비교는 RaidComparisonCache가 따로 받는다)
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  @Order(0)
+  public void rosterChanged(RosterChangedEvent event) {
+    switch (event.type()) {
+      case CHARACTER_UPDATED -> update(current -> withCharacter(current, event.character(), event.userId()));
+      case CHARACTER_REMOVED -> update(current -> withoutCharacter(current, event.characterId()));
+      case USER_REMOVED -> update(current -> withoutUser(current, event.userId()));
+      case WEEK_RESET -> {
+        synchronized (this) {
+          state = null;
+        }
+      }
+    }
+  }
+
+  // 집계 재생성 (다음 조회 때 다시 생성)
+  public void clear() {
+    raidComparisonCache.clear();
+    TransactionUtil.afterCommit(() -> {
+      synchronized (this) {
+        state = null;
+      }
+    });
+  }
+
+  private synchronized void update(UnaryOperator<State> change) {
+    // 아직 만들지 않았거나 지난 주 상태면 다음 조회 때 새로 만들므로 반영할 필요 없음
+    State current = state;
+    if (current != null && current.weekStart().equals(WeeklyResetUtil.getCurrentWeekStart())) {
+      state = change.apply(current);
+    }
+  }
+
+  // 캐릭터 등록/동기화/골드 우선순위 변경 (완료 기록은 그대로, 캐릭터 정보만)
+  private State withCharacter(State current, Character character, Long userId) {
+    Map<Long, UserDashboard> byUser = new HashMap<>(current.byUser());
+    Map<Long, Long> userIdByCharacter = new HashMap<>(current.userIdByCharacter());
+
+    UserDashboard.Column existing = null;
+    if (userIdByCharacter.containsKey(character.getId())) {
+      Long previousUserId = userIdByCharacter.get(character.getId());
+      existing = byUser.get(previousUserId).getColumn(character.getId());
+      byUser.put(previousUserId, byUser.get(previousUserId).without(character.getId()));
+    }
+    UserDashboard.Column column = existing != null ? existing.withInfo(character) : UserDashboard.Column.empty(character);
+    put(byUser, userIdByCharacter, userId, column, current.weekStart());
+    return new State(current.weekStart(), byUser, userIdByCharacter);
+  }
+
+  private State withoutCharacter(State current, Long characterId) {
+    if (!current.userIdByCharacter().containsKey(characterId)) {
+      return current;
+    }
+    Map<Long, UserDashboard> byUser = new HashMap<>(current.byUser());
+    Map<Long, Long> userIdByCharacter = new HashMap<>(current.userIdByCharacter());
+    Long userId = userIdByCharacter.remove(characterId);
+    byUser.put(userId, byUser.get(userId).without(characterId));
+    return new State(current.weekStart(), byUser, userIdByCharacter);
+  }
+
+  private State withoutUser(State current, Long userId) {
+    Map<Long, UserDashboard> byUser = new HashMap<>(current.byUser());
+    Map<Long, Long> userIdByCharacter = new HashMap<>(current.userIdByCharacter());
+    UserDashboard removed = byUser.remove(userId);
+    if (removed != null) {
+      removed.getColumns().forEach(column -> userIdByCharacter.remove(column.characterId()));
+    }
+    return new State(current.weekStart(), byUser, userIdByCharacter);
+  }
+
+  // 캐릭터 열 1개 교체 (상태에 없는 캐릭터면 그대로)
+  private State withColumn(State current, Long characterId, UnaryOperator<UserDashboard.Column> change) {
+    if (!current.userIdByCharacter().containsKey(characterId)) {
+      return current;
+    }
+    Long userId = current.userIdByCharacter().get(characterId);
+    UserDashboard dashboard = current.byUser().get(userId);
+    Map<Long, UserDashboard> byUser = new HashMap<>(current.byUser());
+    byUser.put(userId, dashboard.with(change.apply(dashboard.getColumn(characterId))));
+    return new State(current.weekStart(), byUser, current.userIdByCharacter());
+  }
+
+  private State state() {
+    LocalDateTime weekStart = WeeklyResetUtil.getCurrentWeekStart();
+    State cached = state;
+    if (cached == null || !cached.weekStart().equals(weekStart)) {
+      synchronized (this) {
+        cached = state;
+        if (cached == null || !cached.weekStart().equals(weekStart)) {
+          boolean settled = unappliedChanges.get() == 0;
+          long before = committedChanges.get();
+          cached = load(weekStart);
+          if (settled && committedChanges.get() == before) {
+            state = cached;
+          }
+        }
+      }
+    }
+    return cached;
+  }
+
+  // 전체 캐릭터 + 이번 주 집계 (SQL 1회)
+  private State load(LocalDateTime weekStart) {
+    Map<Long, List<UserDashboard.Column>> columnsByUser = new HashMap<>();
+    Map<Long, Long> userIdByCharacter = new HashMap<>();
+    for (AccountSummaryRow row : characterWeekSummaryRepository.findAccountSummaryRows(weekStart)) {
+      columnsByUser.computeIfAbsent(row.getUserId(), id -> new ArrayList<>()).add(UserDashboard.Column.of(row));
+      userIdByCharacter.put(row.getId(), row.getUserId());
+    }
+    Map<Long, UserDashboard> byUser = new HashMap<>();
+    columnsByUser.forEach((userId, columns) ->
+            byUser.put(userId, new UserDashboard(userId, weekStart, raidCatalog.getRaids(), columns)));
+    System.out.println("대시보드 생성: " + weekStart + " (유저 " + byUser.size() + "명, 캐릭터 " + userIdByCharacter.size() + "명)");
+    return new State(weekStart, byUser, userIdByCharacter);
+  }
+
+  private void put(Map<Long, UserDashboard> byUser, Map<Long, Long> userIdByCharacter,
+                   Long userId, UserDashboard.Column column, LocalDateTime weekStart) {
+    UserDashboard dashboard = byUser.get(userId);
+    if (dashboard == null) {
+      dashboard = new UserDashboard(userId, weekStart, raidCatalog.getRaids(), List.of());
+    }
+    byUser.put(userId, dashboard.with(column));
+    userIdByCharacter.put(column.characterId(), userId);
+  }
+}
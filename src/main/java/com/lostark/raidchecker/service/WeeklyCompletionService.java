@@ -1,16 +1,20 @@
 package com.lostark.raidchecker.service;
 
+import com.lostark.raidchecker.dto.GateCompletionBatchRequest;
 import com.lostark.raidchecker.entity.*;
 import com.lostark.raidchecker.entity.Character;
 import com.lostark.raidchecker.repository.*;
+import com.lostark.raidchecker.repository.CompletionProjectionRepository.Counters;
 import com.lostark.raidchecker.util.WeeklyResetUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import lombok.RequiredArgsConstructor;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -18,201 +22,123 @@ public class WeeklyCompletionService {
 
   private final WeeklyCompletionRepository weeklyCompletionRepository;
   private final CharacterRepository characterRepository;
-  private final RaidRepository raidRepository;
-  private final RaidGateRepository raidGateRepository;
-  private final GateCompletionRepository gateCompletionRepository;
-  private final PartyCompletionRepository partyCompletionRepository;
+  private final WeeklyChecklistBulkRepository weeklyChecklistBulkRepository;
+  private final RaidCatalog raidCatalog;
+  private final EntityManager entityManager;
+  private final CompletionProjector completionProjector;
+  private final UserDashboardStore userDashboardStore;
+  private final DataVersions dataVersions;
 
   /**
-   * ✅ 매주 수요일 06:00에 자동으로 지난 주 데이터 삭제 후 새 체크리스트 생성
+   * 특정 캐릭터의 이번 주 완료 기록 조회
+   * ✅ 아직 체크리스트가 없으면 레이드 목록으로 만든 빈 체크리스트 반환 (DB에 저장하지 않음)
    */
-  @Scheduled(cron = "0 0 6 * * WED", zone = "Asia/Seoul")
-  @Transactional
-  public void weeklyReset() {
-    System.out.println("=== 주간 초기화 시작: " + LocalDateTime.now() + " ===");
-
-    // ✅ 1. 지난 주 완료 데이터 삭제 (순서 중요!)
-    System.out.println("지난 주 완료 데이터 삭제 중...");
-    long partyCount = partyCompletionRepository.count();
-    long gateCount = gateCompletionRepository.count();
-    long weeklyCount = weeklyCompletionRepository.count();
-
-    // ✅ PartyCompletion은 Raid만 참조 → 먼저 삭제 가능
-    partyCompletionRepository.deleteAll();
-    gateCompletionRepository.deleteAll();
-    weeklyCompletionRepository.deleteAll();
-
-    System.out.println("삭제 완료 - PartyCompletion: " + partyCount
-            + "개, GateCompletion: " + gateCount
-            + "개, WeeklyCompletion: " + weeklyCount + "개");
-
-    // ✅ 2. 모든 캐릭터에 대해 새 체크리스트 생성
-    List<Character> allCharacters = characterRepository.findAll();
-    System.out.println("총 " + allCharacters.size() + "개 캐릭터 체크리스트 생성 중...");
-
-    int successCount = 0;
-    for (Character character : allCharacters) {
-      try {
-        createWeeklyChecklist(character.getId());
-        successCount++;
-      } catch (Exception e) {
-        System.err.println("캐릭터 " + character.getCharacterName()
-                + " 체크리스트 생성 실패: " + e.getMessage());
-      }
-    }
-
-    System.out.println("=== 주간 초기화 완료 - 성공: " + successCount + "개 ===");
-  }
-
-  // 특정 캐릭터의 이번 주 완료 기록 조회
   public List<WeeklyCompletion> getCurrentWeekCompletions(Long characterId) {
     Character character = characterRepository.findById(characterId)
             .orElseThrow(() -> new RuntimeException("캐릭터를 찾을 수 없습니다."));
 
-    LocalDateTime weekStart = WeeklyResetUtil.getCurrentWeekStart();
-    return weeklyCompletionRepository.findByCharacterAndWeekStart(character, weekStart);
+    return getCurrentWeekCompletions(character);
   }
 
-  // 특정 캐릭터의 이번 주 체크리스트 생성
-  @Transactional
-  public List<WeeklyCompletion> createWeeklyChecklist(Long characterId) {
-    Character character = characterRepository.findById(characterId)
-            .orElseThrow(() -> new RuntimeException("캐릭터를 찾을 수 없습니다."));
-
+  public List<WeeklyCompletion> getCurrentWeekCompletions(Character character) {
     LocalDateTime weekStart = WeeklyResetUtil.getCurrentWeekStart();
+    List<WeeklyCompletion> completions = weeklyCompletionRepository
+            .findWithGatesByCharacterIdAndWeekStart(character.getId(), weekStart);
 
-    // 캐릭터 아이템 레벨에 맞는 레이드만 가져오기
-    List<Raid> availableRaids = raidRepository.findByRequiredItemLevelLessThanEqualOrderByOrderIndexAsc(
-            character.getItemLevel()
-    );
-
-    // 각 레이드에 대해 WeeklyCompletion 생성
-    for (Raid raid : availableRaids) {
-      boolean exists = weeklyCompletionRepository.existsByCharacterAndRaidAndWeekStart(
-              character, raid, weekStart
-      );
-
-      if (!exists) {
-        WeeklyCompletion completion = new WeeklyCompletion();
-        completion.setCharacter(character);
-        completion.setRaid(raid);
-        completion.setWeekStart(weekStart);
-        completion.setCompleted(false);
-        completion.setEarnedGold(0);
-
-        weeklyCompletionRepository.save(completion);
-
-        // 각 관문에 대한 GateCompletion 생성
-        List<RaidGate> gates = raidGateRepository.findByRaidIdOrderByGateNumberAsc(raid.getId());
-        for (RaidGate gate : gates) {
-          GateCompletion gateCompletion = new GateCompletion();
-          gateCompletion.setWeeklyCompletion(completion);
-          gateCompletion.setRaidGate(gate);
-          gateCompletion.setCompleted(false);
-          gateCompletion.setExtraReward(false);
-          gateCompletion.setEarnedGold(0);
-
-          gateCompletionRepository.save(gateCompletion);
-        }
-      }
+    if (completions.isEmpty()) {
+      return buildEmptyChecklist(character, weekStart);
     }
-
-    return getCurrentWeekCompletions(characterId);
+    return completions;
   }
 
-  // 관문 완료 처리
-  @Transactional
-  public GateCompletion completeGate(Long gateCompletionId, boolean extraReward) {
-    GateCompletion gateCompletion = gateCompletionRepository.findById(gateCompletionId)
-            .orElseThrow(() -> new RuntimeException("관문 완료 기록을 찾을 수 없습니다."));
+  // 저장되지 않은 "전부 미완료" 체크리스트 (id = null)
+  private List<WeeklyCompletion> buildEmptyChecklist(Character character, LocalDateTime weekStart) {
+    List<WeeklyCompletion> checklist = new ArrayList<>();
 
-    WeeklyCompletion weeklyCompletion = gateCompletion.getWeeklyCompletion();
-    Character character = weeklyCompletion.getCharacter();
-    String raidGroup = weeklyCompletion.getRaid().getRaidGroup();
+    for (Raid raid : raidCatalog.getRaidsAvailableFor(character.getItemLevel())) {
+      WeeklyCompletion completion = new WeeklyCompletion();
+      completion.setCharacter(character);
+      completion.setRaid(raid);
+      completion.setWeekStart(weekStart);
 
-    // 이미 완료된 관문인지 확인
-    if (gateCompletion.getCompleted()) {
-      throw new RuntimeException("이미 완료된 관문입니다.");
+      for (RaidGate gate : raid.getGates()) {
+        completion.getGateCompletions().add(new GateCompletion(null, completion, gate, false, false, 0, 0L));
+      }
+      checklist.add(completion);
     }
 
-    // ✅ 이 레이드 그룹이 골드를 받을 수 있는지 확인
-    // (이 그룹의 첫 관문을 깨기 전에 이미 3개 그룹을 완료했는지 확인)
-    boolean canEarnGold = canRaidGroupEarnGold(character.getId(), raidGroup);
+    return checklist;
+  }
 
-    // 관문 완료 처리
-    gateCompletion.setCompleted(true);
-    gateCompletion.setExtraReward(extraReward);
+  // 특정 캐릭터의 지난 주 완료 기록 조회
+  public List<WeeklyCompletion> getWeekCompletions(Long characterId, LocalDateTime weekStart) {
+    return weeklyCompletionRepository.findWithGatesByCharacterIdAndWeekStart(characterId, weekStart);
+  }
 
-    // ✅ 골드 계산: 이 레이드 그룹이 골드를 받을 수 있는 상태라면 골드 지급
-    int earnedGold = 0;
-    if (canEarnGold) {
-      earnedGold = gateCompletion.getRaidGate().getRewardGold();
-      if (extraReward) {
-        earnedGold -= gateCompletion.getRaidGate().getExtraCost();
-      }
-    }
-    gateCompletion.setEarnedGold(earnedGold);
+  // 특정 캐릭터의 기록이 있는 주 목록 (최신순)
+  public List<LocalDateTime> getCompletionWeeks(Long characterId) {
+    return weeklyCompletionRepository.findWeekStartsByCharacterId(characterId, WeeklyResetUtil.getCurrentWeekStart());
+  }
 
-    gateCompletionRepository.save(gateCompletion);
+  // 특정 캐릭터의 이번 주 체크리스트 생성
+  @Transactional
+  public List<WeeklyCompletion> createWeeklyChecklist(Long characterId) {
+    Character character = characterRepository.findById(characterId)
+            .orElseThrow(() -> new RuntimeException("캐릭터를 찾을 수 없습니다."));
 
-    // WeeklyCompletion 업데이트
-    updateWeeklyCompletion(weeklyCompletion);
+    LocalDateTime weekStart = WeeklyResetUtil.getCurrentWeekStart();
 
-    // ✅ 같은 레이드 그룹의 다른 난이도들도 완료 상태로 업데이트
-    updateSameRaidGroupCompletions(character.getId(), raidGroup);
+    // 캐릭터 아이템 레벨에 맞는 레이드/관문을 한 번에 생성 (이미 있는 레이드는 건너뜀)
+    weeklyChecklistBulkRepository.insertChecklist(character.getId(), weekStart);
+    dataVersions.characterChanged(character);
 
-    return gateCompletion;
+    return getCurrentWeekCompletions(characterId);
   }
 
   /**
-   * ✅ 이 레이드 그룹이 골드를 받을 수 있는지 확인
-   * - 이미 이 그룹을 시작했다면 (1관문이라도 완료) → 계속 골드 가능
-   * - 아직 시작 안 했다면 → 3개 제한 확인
+   * ✅ 캐릭터 + 관문 기준 완료 처리
+   * 이번 주 체크리스트가 아직 없으면 이 시점(첫 변경)에 생성한 뒤 완료 처리
    */
-  private boolean canRaidGroupEarnGold(Long characterId, String raidGroup) {
+  @Transactional
+  public GateCompletion completeGateForCharacter(Long characterId, Long raidGateId, boolean extraReward) {
     LocalDateTime weekStart = WeeklyResetUtil.getCurrentWeekStart();
 
-    List<WeeklyCompletion> completions = weeklyCompletionRepository
-            .findByCharacterIdAndWeekStart(characterId, weekStart);
-
-    // 이 레이드 그룹이 이미 시작되었는지 확인 (관문 1개라도 완료)
-    boolean isThisGroupStarted = completions.stream()
-            .filter(wc -> wc.getRaid().getRaidGroup().equals(raidGroup))
-            .anyMatch(WeeklyCompletion::getCompleted);
+    CharacterWeekState state = loadWeekState(characterId, weekStart);
+    GateCompletion gateCompletion = state.findGateCompletionByRaidGateId(raidGateId)
+            .orElse(null);
 
-    // 이미 시작한 그룹이면 무조건 골드 가능
-    if (isThisGroupStarted) {
-      return true;
+    if (gateCompletion == null) {
+      weeklyChecklistBulkRepository.insertChecklist(characterId, weekStart);
+      state = loadWeekState(characterId, weekStart);
+      gateCompletion = state.findGateCompletionByRaidGateId(raidGateId)
+              .orElseThrow(() -> new RuntimeException("관문 완료 기록을 찾을 수 없습니다."));
     }
 
-    // 아직 시작 안 한 그룹이면, 이미 완료한 다른 그룹이 3개 미만인지 확인
-    long completedOtherGroups = completions.stream()
-            .filter(WeeklyCompletion::getCompleted)
-            .map(wc -> wc.getRaid().getRaidGroup())
-            .distinct()
-            .count();
-
-    return completedOtherGroups < 3;
+    return complete(state, gateCompletion, extraReward);
   }
 
   /**
-   * ✅ 같은 레이드 그룹의 모든 난이도를 완료 상태로 표시
-   * (한 난이도를 클리어하면 다른 난이도는 할 수 없으므로)
+   * 관문 완료 처리
+   * ✅ 관문이 속한 캐릭터/주의 기록을 관문 완료 기록까지 한 번의 SQL로 읽고,
+   * 레이드/관문 정보는 RaidCatalog에서 가져온다. 변경은 커밋 시 dirty checking으로 UPDATE.
    */
-  private void updateSameRaidGroupCompletions(Long characterId, String raidGroup) {
-    LocalDateTime weekStart = WeeklyResetUtil.getCurrentWeekStart();
-
-    List<WeeklyCompletion> sameGroupCompletions = weeklyCompletionRepository
-            .findByCharacterIdAndWeekStart(characterId, weekStart).stream()
-            .filter(wc -> wc.getRaid().getRaidGroup().equals(raidGroup))
-            .toList();
+  @Transactional
+  public GateCompletion completeGate(Long gateCompletionId, boolean extraReward) {
+    CharacterWeekState state = loadWeekState(gateCompletionId);
+    return complete(state, state.getGateCompletion(gateCompletionId), extraReward);
+  }
 
-    for (WeeklyCompletion wc : sameGroupCompletions) {
-      if (!wc.getCompleted()) {
-        wc.setCompleted(true);
-        weeklyCompletionRepository.save(wc);
-      }
+  private GateCompletion complete(CharacterWeekState state, GateCompletion gateCompletion, boolean extraReward) {
+    // 이미 완료된 관문인지 확인
+    if (gateCompletion.getCompleted()) {
+      throw new RuntimeException("이미 완료된 관문입니다.");
     }
+
+    GateCompletionEvent event = applyComplete(state, gateCompletion, extraReward);
+    lockStartedGroups(state);
+    completionProjector.record(List.of(event));
+    dataVersions.charactersChanged(List.of(event.getCharacterId()));
+    return gateCompletion;
   }
 
   /**
@@ -220,130 +146,167 @@ public class WeeklyCompletionService {
    */
   @Transactional
   public GateCompletion uncompleteGate(Long gateCompletionId) {
-    GateCompletion gateCompletion = gateCompletionRepository.findById(gateCompletionId)
-            .orElseThrow(() -> new RuntimeException("관문 완료 기록을 찾을 수 없습니다."));
-
-    WeeklyCompletion weeklyCompletion = gateCompletion.getWeeklyCompletion();
-    String raidGroup = weeklyCompletion.getRaid().getRaidGroup();
-    Long characterId = weeklyCompletion.getCharacter().getId();
-
-    // ✅ 삭제 대신 필드만 초기화
-    gateCompletion.setCompleted(false);
-    gateCompletion.setExtraReward(false);
-    gateCompletion.setEarnedGold(0);
-
-    GateCompletion saved = gateCompletionRepository.save(gateCompletion);
+    CharacterWeekState state = loadWeekState(gateCompletionId);
+    GateCompletion gateCompletion = state.getGateCompletion(gateCompletionId);
 
-    // WeeklyCompletion 업데이트
-    updateWeeklyCompletion(weeklyCompletion);
-
-    // ✅ 같은 레이드 그룹의 다른 난이도 완료 상태 재확인
-    recheckSameRaidGroupCompletions(characterId, raidGroup);
-
-    return saved;
+    GateCompletionEvent event = applyUncomplete(state, gateCompletion);
+    lockStartedGroups(state);
+    completionProjector.record(List.of(event));
+    dataVersions.charactersChanged(List.of(event.getCharacterId()));
+    return gateCompletion;
   }
 
   /**
-   * ✅ 같은 레이드 그룹의 완료 상태 재확인
-   * (관문 취소 시 해당 그룹의 모든 난이도가 미완료 상태인지 확인)
+   * ✅ 관문 완료/취소 일괄 처리 (여러 캐릭터 × 여러 관문, 한 트랜잭션)
+   * - 모든 캐릭터의 이번 주 기록을 SQL 1회로 조회 (체크리스트가 없는 캐릭터는 모아서 한 번에 생성)
+   * - 캐릭터마다 CharacterWeekState 하나로 골드 제한/같은 그룹 처리
+   * - 이미 요청한 상태인 관문은 건너뜀
+   * - 변경 사항은 커밋 시 JDBC 배치 UPDATE (hibernate.jdbc.batch_size)
+   * @return 상태가 바뀐 관문 완료 기록
    */
-  private void recheckSameRaidGroupCompletions(Long characterId, String raidGroup) {
+  @Transactional
+  public List<GateCompletion> applyGateCompletions(List<GateCompletionBatchRequest.Item> items) {
+    if (items == null || items.isEmpty()) {
+      return List.of();
+    }
+    for (GateCompletionBatchRequest.Item item : items) {
+      if (item.getCharacterId() == null || item.getRaidGateId() == null) {
+        throw new RuntimeException("캐릭터와 관문을 지정해주세요.");
+      }
+    }
+
     LocalDateTime weekStart = WeeklyResetUtil.getCurrentWeekStart();
+    Map<Long, List<GateCompletionBatchRequest.Item>> itemsByCharacter = items.stream()
+            .collect(Collectors.groupingBy(GateCompletionBatchRequest.Item::getCharacterId,
+                    LinkedHashMap::new, Collectors.toList()));
+
+    Map<Long, CharacterWeekState> states = loadWeekStates(itemsByCharacter.keySet(), weekStart);
 
-    List<WeeklyCompletion> sameGroupCompletions = weeklyCompletionRepository
-            .findByCharacterIdAndWeekStart(characterId, weekStart).stream()
-            .filter(wc -> wc.getRaid().getRaidGroup().equals(raidGroup))
+    // 요청한 관문의 기록이 없는 캐릭터만 모아서 체크리스트 생성 후 다시 조회
+    List<Long> missingCharacterIds = itemsByCharacter.entrySet().stream()
+            .filter(entry -> entry.getValue().stream().anyMatch(item ->
+                    states.get(entry.getKey()).findGateCompletionByRaidGateId(item.getRaidGateId()).isEmpty()))
+            .map(Map.Entry::getKey)
             .toList();
+    if (!missingCharacterIds.isEmpty()) {
+      weeklyChecklistBulkRepository.insertChecklists(missingCharacterIds, weekStart);
+      states.putAll(loadWeekStates(missingCharacterIds, weekStart));
+    }
 
-    // 같은 그룹에서 하나라도 완료된 관문이 있는지 확인
-    boolean hasAnyCompletedGate = sameGroupCompletions.stream()
-            .anyMatch(wc -> wc.getGateCompletions().stream()
-                    .anyMatch(GateCompletion::getCompleted));
-
-    if (!hasAnyCompletedGate) {
-      // 모든 관문이 미완료 상태라면 모든 난이도를 미완료로 설정
-      for (WeeklyCompletion wc : sameGroupCompletions) {
-        if (wc.getCompleted()) {
-          wc.setCompleted(false);
-          wc.setEarnedGold(0);
-          weeklyCompletionRepository.save(wc);
-        }
-      }
-    } else {
-      // ✅ 일부 관문이 완료 상태라면, 실제 완료된 난이도의 골드를 다른 난이도에 동기화
-      WeeklyCompletion actualCompleted = sameGroupCompletions.stream()
-              .filter(wc -> wc.getGateCompletions().stream()
-                      .anyMatch(GateCompletion::getCompleted))
-              .findFirst()
-              .orElse(null);
-
-      if (actualCompleted != null) {
-        int actualGold = actualCompleted.getEarnedGold();
-        for (WeeklyCompletion wc : sameGroupCompletions) {
-          if (wc.getId().equals(actualCompleted.getId())) {
-            continue; // 실제 완료한 난이도는 이미 업데이트됨
-          }
-          wc.setCompleted(true);
-          wc.setEarnedGold(actualGold);
-          weeklyCompletionRepository.save(wc);
+    List<GateCompletion> changed = new ArrayList<>();
+    List<GateCompletionEvent> events = new ArrayList<>();
+    itemsByCharacter.forEach((characterId, characterItems) -> {
+      CharacterWeekState state = states.get(characterId);
+
+      for (GateCompletionBatchRequest.Item item : characterItems) {
+        GateCompletion gateCompletion = state.findGateCompletionByRaidGateId(item.getRaidGateId())
+                .orElseThrow(() -> new RuntimeException(
+                        "관문 완료 기록을 찾을 수 없습니다: 캐릭터 " + characterId + ", 관문 " + item.getRaidGateId()));
+
+        boolean completed = item.getCompleted() == null || item.getCompleted();
+        if (completed == gateCompletion.getCompleted()) {
+          continue;
         }
+
+        events.add(completed
+                ? applyComplete(state, gateCompletion, Boolean.TRUE.equals(item.getExtraReward()))
+                : applyUncomplete(state, gateCompletion));
+        changed.add(gateCompletion);
       }
-    }
+
+      lockStartedGroups(state);
+    });
+
+    completionProjector.record(events);
+
+    // 체크리스트를 만들었거나 관문이 바뀐 캐릭터
+    Set<Long> changedCharacterIds = new HashSet<>(missingCharacterIds);
+    events.forEach(event -> changedCharacterIds.add(event.getCharacterId()));
+    dataVersions.charactersChanged(changedCharacterIds);
+    return changed;
   }
 
-  // WeeklyCompletion 업데이트 (총 골드 계산 및 완료 여부)
-  private void updateWeeklyCompletion(WeeklyCompletion weeklyCompletion) {
-    List<GateCompletion> gateCompletions = weeklyCompletion.getGateCompletions();
+  // 완료 적용 + 이벤트 (증감은 적용 전후 상태의 차이)
+  private GateCompletionEvent applyComplete(CharacterWeekState state, GateCompletion gateCompletion, boolean extraReward) {
+    Counters before = countersOf(state);
+    state.complete(gateCompletion, extraReward);
+    return newEvent(gateCompletion, GateCompletionEvent.COMPLETE, extraReward, countersOf(state).minus(before), 1);
+  }
 
-    // 하나라도 완료된 관문이 있으면 완료로 표시
-    boolean hasAnyCompleted = gateCompletions.stream()
-            .anyMatch(GateCompletion::getCompleted);
+  private GateCompletionEvent applyUncomplete(CharacterWeekState state, GateCompletion gateCompletion) {
+    Counters before = countersOf(state);
+    int gateDelta = gateCompletion.getCompleted() ? -1 : 0;
+    state.uncomplete(gateCompletion);
+    return newEvent(gateCompletion, GateCompletionEvent.UNCOMPLETE, false, countersOf(state).minus(before), gateDelta);
+  }
 
-    weeklyCompletion.setCompleted(hasAnyCompleted);
+  // 관문 수는 상태에 없으므로 gateDelta로 따로 받는다
+  private Counters countersOf(CharacterWeekState state) {
+    return new Counters(state.getTotalGold(), 0, state.getCompletedRaidCount(), state.getStartedGroupCount());
+  }
 
-    // 완료된 관문들의 골드 합계
-    int totalGold = gateCompletions.stream()
-            .filter(GateCompletion::getCompleted)
-            .mapToInt(GateCompletion::getEarnedGold)
-            .sum();
+  private GateCompletionEvent newEvent(GateCompletion gateCompletion, String type, boolean extraReward,
+                                       Counters delta, int gateDelta) {
+    WeeklyCompletion weeklyCompletion = gateCompletion.getWeeklyCompletion();
+    return new GateCompletionEvent(weeklyCompletion.getCharacter().getId(), weeklyCompletion.getWeekStart(),
+            gateCompletion.getRaidGate().getId(), type, extraReward,
+            delta.gold(), gateDelta, delta.raids(), delta.groups());
+  }
 
-    weeklyCompletion.setEarnedGold(totalGold);
+  // 여러 캐릭터의 체크리스트 상태 (SQL 1회, 기록이 없는 캐릭터는 빈 상태)
+  private Map<Long, CharacterWeekState> loadWeekStates(Collection<Long> characterIds, LocalDateTime weekStart) {
+    Map<Long, List<WeeklyCompletion>> completionsByCharacter = new HashMap<>();
+    for (Long characterId : characterIds) {
+      completionsByCharacter.put(characterId, new ArrayList<>());
+    }
+    for (WeeklyCompletion wc : weeklyCompletionRepository
+            .findWithGatesByCharacterIdInAndWeekStart(characterIds, weekStart)) {
+      completionsByCharacter.get(wc.getCharacter().getId()).add(wc);
+    }
 
-    weeklyCompletionRepository.save(weeklyCompletion);
+    Map<Long, CharacterWeekState> states = new HashMap<>();
+    completionsByCharacter.forEach((characterId, completions) ->
+            states.put(characterId, CharacterWeekState.of(completions, raidCatalog)));
+    return states;
   }
 
-  // 레이드 그룹이 이미 완료되었는지 확인 (관문 1개라도 완료 시 true)
-  public boolean isRaidGroupCompleted(Long characterId, String raidGroup) {
-    LocalDateTime weekStart = WeeklyResetUtil.getCurrentWeekStart();
+  /**
+   * ✅ 골드 획득 그룹 구성이 바뀌면 기준 기록의 버전을 올린다.
+   * 서로 다른 레이드를 동시에 체크하면 수정하는 행이 겹치지 않아 둘 다 "그룹 2개 → 3개"로 판단할 수 있으므로,
+   * 같은 행의 버전을 올리게 해서 한쪽이 충돌(재시도)하도록 한다.
+   */
+  private void lockStartedGroups(CharacterWeekState state) {
+    if (state.isStartedGroupsChanged()) {
+      entityManager.lock(state.getAnchorCompletion(), LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+    }
+  }
 
+  // 관문 완료 기록이 속한 캐릭터/주의 체크리스트 상태 (SQL 1회)
+  private CharacterWeekState loadWeekState(Long gateCompletionId) {
     List<WeeklyCompletion> completions = weeklyCompletionRepository
-            .findByCharacterIdAndWeekStart(characterId, weekStart);
-
-    return completions.stream()
-            .filter(wc -> wc.getRaid().getRaidGroup().equals(raidGroup))
-            .anyMatch(WeeklyCompletion::getCompleted);
+            .findWeekWithGatesByGateCompletionId(gateCompletionId);
+    if (completions.isEmpty()) {
+      throw new RuntimeException("관문 완료 기록을 찾을 수 없습니다.");
+    }
+    return CharacterWeekState.of(completions, raidCatalog);
   }
 
-  // 특정 캐릭터의 이번 주 총 골드 계산
-  public Integer getTotalEarnedGold(Long characterId) {
-    List<WeeklyCompletion> completions = getCurrentWeekCompletions(characterId);
-    return completions.stream()
-            .mapToInt(WeeklyCompletion::getEarnedGold)
-            .sum();
+  // 캐릭터/주의 체크리스트 상태 (SQL 1회)
+  private CharacterWeekState loadWeekState(Long characterId, LocalDateTime weekStart) {
+    List<WeeklyCompletion> completions = weeklyCompletionRepository
+            .findWithGatesByCharacterIdAndWeekStart(characterId, weekStart);
+    return CharacterWeekState.of(completions, raidCatalog);
   }
 
-  // 전체 완료된 레이드 그룹 개수 조회
-  private int getTotalCompletedRaidGroups(Long characterId) {
+  // 레이드 그룹이 이미 완료되었는지 확인 (관문 1개라도 완료 시 true)
+  public boolean isRaidGroupCompleted(Long characterId, String raidGroup) {
     LocalDateTime weekStart = WeeklyResetUtil.getCurrentWeekStart();
 
-    List<WeeklyCompletion> completions = weeklyCompletionRepository
-            .findByCharacterIdAndWeekStart(characterId, weekStart);
-
-    // 완료된 레이드들의 raidGroup을 중복 제거하여 개수 카운트
-    return (int) completions.stream()
-            .filter(WeeklyCompletion::getCompleted)
-            .map(wc -> wc.getRaid().getRaidGroup())
-            .distinct()
-            .count();
+    return loadWeekState(characterId, weekStart).isGroupStarted(raidGroup);
+  }
+
+  // 특정 캐릭터의 이번 주 총 골드 (유저 대시보드, 메모리)
+  public Integer getTotalEarnedGold(Long characterId) {
+    return userDashboardStore.getCharacterGold(characterId);
   }
-}
\ No newline at end of file
+}
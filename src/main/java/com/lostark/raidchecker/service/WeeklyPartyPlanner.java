@@ -0,0 +1,227 @@
+package com.lostark.raidchecker.service;
+
+import com.lostark.raidchecker.entity.Raid;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToIntFunction;
+
+/**
+ * ✅ 한 주 전체 공격대 계획 (레이드 전체 × 캐릭터 전체)
+ * 제약: 파티 역할 인원 (카제로스 6+2 / 그림자 3+1), 한 파티에 같은 유저 1명,
+ *      캐릭터당 레이드 그룹 1번 (난이도 중 하나)
+ * 목표: 골드 합계 또는 완료 레이드 수
+ * 골드: 골드 우선순위 6 이하 캐릭터가 처음 간 그룹 3개까지만 (이미 완료한 그룹 포함)
+ *      4번째 그룹부터는 골드 없이 완료만 한다 (완료 레이드 수 목표에서는 계속 배정).
+ *
+ * 레이드를 순서대로 돌며 남은 캐릭터로 PartyFormationSolver를 실행하는 한 번의 계획(plan)을
+ * 레이드 순서/동점 캐릭터 순서/파티 수를 무작위로 바꿔 가며 반복하고 가장 좋은 계획을 고른다.
+ * 첫 번째 계획은 무작위 없이 가치가 큰 레이드부터 채운다.
+ */
+public final class WeeklyPartyPlanner {
+
+  // 캐릭터당 주간 골드 획득 가능 레이드 그룹 수
+  private static final int MAX_GOLD_GROUPS = 3;
+
+  // 골드 우선순위가 이 값 이하인 캐릭터만 골드 획득
+  private static final int MAX_GOLD_PRIORITY = 6;
+
+  public enum Objective {
+    GOLD, CLEARS
+  }
+
+  /**
+   * 계획된 파티 (roster 인덱스)
+   */
+  public record PlannedParty(Raid raid, int[] dealers, int[] supports, long gold) {
+  }
+
+  /**
+   * 계획 결과
+   */
+  public record Plan(List<PlannedParty> parties, long totalGold, int clears) {
+  }
+
+  private record RaidSpec(Raid raid, int groupIndex, double requiredItemLevel,
+                          int dealersPerParty, int supportsPerParty) {
+  }
+
+  private final RosterSnapshot roster;
+  private final Objective objective;
+  private final List<RaidSpec> raids = new ArrayList<>();
+  private final long[] doneGroups;       // 캐릭터별 이미 완료한 그룹 비트
+  private final long[] eligibleGroups;   // 캐릭터별 입장 가능 + 미완료 그룹 비트
+  private final boolean[] goldEarners;
+
+  /**
+   * @param doneGroups 로스터 인덱스별 이번 주 이미 완료한 레이드 그룹 비트
+   */
+  public WeeklyPartyPlanner(RosterSnapshot roster, List<Raid> allRaids, ToIntFunction<String> groupIndexOf,
+                            long[] doneGroups, Objective objective) {
+    this.roster = roster;
+    this.objective = objective;
+    this.doneGroups = doneGroups;
+
+    for (Raid raid : allRaids) {
+      if ("카제로스".equals(raid.getPartyType())) {
+        raids.add(new RaidSpec(raid, groupIndexOf.applyAsInt(raid.getRaidGroup()), raid.getRequiredItemLevel(), 6, 2));
+      } else if ("그림자".equals(raid.getPartyType())) {
+        raids.add(new RaidSpec(raid, groupIndexOf.applyAsInt(raid.getRaidGroup()), raid.getRequiredItemLevel(), 3, 1));
+      }
+    }
+    // 기본 순서: 목표 기준 가치가 큰 레이드부터 (골드: 보상 골드, 완료 수: 입장 레벨이 높은 = 후보가 적은 레이드)
+    raids.sort(objective == Objective.GOLD
+            ? Comparator.comparingInt((RaidSpec spec) -> spec.raid().getRewardGold()).reversed()
+            : Comparator.comparingDouble(RaidSpec::requiredItemLevel).reversed());
+
+    this.eligibleGroups = new long[roster.size()];
+    this.goldEarners = new boolean[roster.size()];
+    for (int i = 0; i < roster.size(); i++) {
+      goldEarners[i] = roster.getGoldPriority(i) <= MAX_GOLD_PRIORITY;
+      for (RaidSpec spec : raids) {
+        if (roster.getItemLevel(i) >= spec.requiredItemLevel()) {
+          eligibleGroups[i] |= 1L << spec.groupIndex();
+        }
+      }
+      eligibleGroups[i] &= ~doneGroups[i];
+    }
+  }
+
+  /**
+   * 계획 1개 생성
+   * @param random null이면 무작위 없이 기본 순서
+   */
+  public Plan plan(Random random) {
+    int size = roster.size();
+    long[] usedGroups = doneGroups.clone();
+    int[] goldSlots = new int[size];  // 캐릭터별 남은 골드 그룹 수
+    for (int i = 0; i < size; i++) {
+      goldSlots[i] = Math.max(0, MAX_GOLD_GROUPS - Long.bitCount(doneGroups[i]));
+    }
+
+    List<RaidSpec> order = raidOrder(random);
+    double[] tieBreak = new double[size];
+
+    List<PlannedParty> parties = new ArrayList<>();
+    long totalGold = 0;
+    int clears = 0;
+
+    for (int position = 0; position < order.size(); position++) {
+      RaidSpec spec = order.get(position);
+      long groupBit = 1L << spec.groupIndex();
+
+      // 이 레이드 이후에 남은 그룹 (대안이 적은 캐릭터를 먼저 쓰기 위해)
+      long laterGroups = 0;
+      for (int next = position + 1; next < order.size(); next++) {
+        laterGroups |= 1L << order.get(next).groupIndex();
+      }
+
+      List<Integer> candidates = new ArrayList<>();
+      for (int i = roster.firstEligibleIndex(spec.requiredItemLevel()); i < size; i++) {
+        if ((usedGroups[i] & groupBit) == 0) {
+          candidates.add(i);
+          tieBreak[i] = random != null ? random.nextDouble() : 0;
+        }
+      }
+      long finalLaterGroups = laterGroups;
+      candidates.sort(Comparator
+              .comparingLong((Integer i) -> -valueOf(i, spec, goldSlots))
+              .thenComparingInt(i -> Long.bitCount(eligibleGroups[i] & finalLaterGroups & ~usedGroups[i]))
+              .thenComparingDouble(i -> tieBreak[i])
+              .thenComparingInt(i -> i));
+
+      List<Integer> dealers = new ArrayList<>();
+      List<Integer> supports = new ArrayList<>();
+      for (int i : candidates) {
+        (roster.isSupport(i) ? supports : dealers).add(i);
+      }
+
+      List<PartyFormationSolver.Party> solved = PartyFormationSolver.solve(
+              ownerIds(dealers), ownerIds(supports), spec.dealersPerParty(), spec.supportsPerParty());
+
+      // 가끔 파티 하나를 덜 만들어 다른 레이드에 캐릭터를 남겨 본다
+      int partyCount = solved.size();
+      if (random != null && partyCount > 0 && random.nextInt(5) == 0) {
+        partyCount--;
+      }
+
+      for (int p = 0; p < partyCount; p++) {
+        int[] partyDealers = toRosterIndexes(dealers, solved.get(p).dealers());
+        int[] partySupports = toRosterIndexes(supports, solved.get(p).supports());
+
+        long gold = 0;
+        for (int[] members : new int[][]{partyDealers, partySupports}) {
+          for (int i : members) {
+            if (earnsGold(i, goldSlots)) {
+              gold += spec.raid().getRewardGold();
+            }
+            usedGroups[i] |= groupBit;
+            goldSlots[i] = Math.max(0, goldSlots[i] - 1);
+            clears++;
+          }
+        }
+        totalGold += gold;
+        parties.add(new PlannedParty(spec.raid(), partyDealers, partySupports, gold));
+      }
+    }
+
+    return new Plan(parties, totalGold, clears);
+  }
+
+  // a가 b보다 좋은 계획인지
+  public boolean isBetter(Plan a, Plan b) {
+    if (b == null) {
+      return true;
+    }
+    if (objective == Objective.GOLD) {
+      return a.totalGold() > b.totalGold() || (a.totalGold() == b.totalGold() && a.clears() > b.clears());
+    }
+    return a.clears() > b.clears() || (a.clears() == b.clears() && a.totalGold() > b.totalGold());
+  }
+
+  // 기본 순서에서 순위를 조금씩 흔든 레이드 순서
+  private List<RaidSpec> raidOrder(Random random) {
+    if (random == null) {
+      return raids;
+    }
+    double[] keys = new double[raids.size()];
+    Integer[] indexes = new Integer[raids.size()];
+    for (int r = 0; r < raids.size(); r++) {
+      keys[r] = r + random.nextGaussian() * 2;
+      indexes[r] = r;
+    }
+    Arrays.sort(indexes, Comparator.comparingDouble(r -> keys[r]));
+    return Arrays.stream(indexes).map(raids::get).toList();
+  }
+
+  private long valueOf(int index, RaidSpec spec, int[] goldSlots) {
+    if (objective == Objective.GOLD) {
+      return earnsGold(index, goldSlots) ? spec.raid().getRewardGold() : 0;
+    }
+    return 1;
+  }
+
+  // 골드 획득 캐릭터이고 골드 그룹이 남아 있는지 (새 그룹이므로 남은 칸이 있어야 함)
+  private boolean earnsGold(int index, int[] goldSlots) {
+    return goldEarners[index] && goldSlots[index] > 0;
+  }
+
+  private long[] ownerIds(List<Integer> indexes) {
+    long[] ids = new long[indexes.size()];
+    for (int k = 0; k < ids.length; k++) {
+      ids[k] = roster.getUserId(indexes.get(k));
+    }
+    return ids;
+  }
+
+  private int[] toRosterIndexes(List<Integer> indexes, int[] picked) {
+    int[] result = new int[picked.length];
+    for (int k = 0; k < picked.length; k++) {
+      result[k] = indexes.get(picked[k]);
+    }
+    return result;
+  }
+}
@@ -0,0 +1,217 @@
+package com.lostark.raidchecker.service;
+
+import com.lostark.raidchecker.dto.PlannedPartyDTO;
+import com.lostark.raidchecker.dto.WeeklyPlanProgressDTO;
+import com.lostark.raidchecker.entity.Character;
+import com.lostark.raidchecker.repository.PartyCompletionMemberRepository;
+import com.lostark.raidchecker.repository.WeeklyCompletionRepository;
+import com.lostark.raidchecker.service.WeeklyPartyPlanner.Objective;
+import com.lostark.raidchecker.service.WeeklyPartyPlanner.Plan;
+import com.lostark.raidchecker.service.WeeklyPartyPlanner.PlannedParty;
+import com.lostark.raidchecker.util.WeeklyResetUtil;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ✅ 주간 공격대 계획 (백그라운드 실행 + 진행 상황)
+ * 로스터 스냅샷, 레이드 카탈로그, 이번 주 완료 기록(WeeklyCompletion/PartyCompletion)을 읽어
+ * WeeklyPartyPlanner로 계획을 반복 생성하고 가장 좋은 계획을 남긴다.
+ * 한 번에 하나만 실행하며, 최근 실행 결과를 메모리에 보관한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class WeeklyPartyPlannerService {
+
+  private static final String RUNNING = "RUNNING";
+  private static final String COMPLETED = "COMPLETED";
+  private static final String FAILED = "FAILED";
+
+  private final RosterSnapshotHolder rosterSnapshotHolder;
+  private final RaidCatalog raidCatalog;
+  private final WeeklyCompletionRepository weeklyCompletionRepository;
+  private final PartyCompletionMemberRepository partyCompletionMemberRepository;
+
+  // 계획 반복 횟수 (많을수록 좋은 계획, 오래 걸림)
+  @Value("${raidchecker.planner.iterations:200}")
+  private int iterations;
+
+  private final ExecutorService executor = Executors.newSingleThreadExecutor();
+  private final AtomicBoolean running = new AtomicBoolean(false);
+
+  private volatile PlanRun lastRun;
+
+  /**
+   * 계획 시작 (이미 실행 중이면 무시)
+   * @return 새로 실행을 시작했으면 true
+   */
+  public boolean start(Objective objective) {
+    if (!running.compareAndSet(false, true)) {
+      return false;
+    }
+
+    PlanRun run = new PlanRun(objective, WeeklyResetUtil.getCurrentWeekStart(), iterations);
+    lastRun = run;
+    executor.submit(() -> {
+      try {
+        execute(run);
+      } finally {
+        running.set(false);
+      }
+    });
+    return true;
+  }
+
+  private void execute(PlanRun run) {
+    System.out.println("=== 주간 공격대 계획 시작: " + run.objective + " (" + run.totalIterations + "회) ===");
+    try {
+      RosterSnapshot roster = rosterSnapshotHolder.get();
+      WeeklyPartyPlanner planner = new WeeklyPartyPlanner(roster, raidCatalog.getRaids(),
+              raidCatalog::getGroupIndex, loadDoneGroups(roster, run.weekStart), run.objective);
+
+      Random random = new Random(run.weekStart.hashCode() * 31L + roster.getVersion());
+      for (int i = 0; i < run.totalIterations; i++) {
+        // 첫 계획은 무작위 없이 (기본 순서)
+        Plan plan = planner.plan(i == 0 ? null : random);
+        if (planner.isBetter(plan, run.best)) {
+          run.best = plan;
+        }
+        run.iterations = i + 1;
+        run.updatedAt = WeeklyResetUtil.getCurrentKoreanTime();
+      }
+
+      run.roster = roster;
+      run.status = COMPLETED;
+      System.out.println("=== 주간 공격대 계획 완료: 골드 " + run.best.totalGold()
+              + ", 완료 " + run.best.clears() + " ===");
+    } catch (Exception e) {
+      String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+      run.lastError = message.length() > 500 ? message.substring(0, 500) : message;
+      run.status = FAILED;
+      System.err.println("주간 공격대 계획 실패: " + message);
+    } finally {
+      run.finishedAt = WeeklyResetUtil.getCurrentKoreanTime();
+      run.updatedAt = run.finishedAt;
+    }
+  }
+
+  /**
+   * 로스터 인덱스별 이번 주 완료한 레이드 그룹 비트 (체크리스트 완료 + 공격대 완료)
+   */
+  private long[] loadDoneGroups(RosterSnapshot roster, LocalDateTime weekStart) {
+    Map<Long, Long> doneByCharacter = new HashMap<>();
+    for (Object[] row : weeklyCompletionRepository.findCompletedCharacterRaidIdsByWeekStart(weekStart)) {
+      doneByCharacter.merge((Long) row[0], groupBit((Long) row[1]), (a, b) -> a | b);
+    }
+    for (Object[] row : partyCompletionMemberRepository.findRaidIdAndCharacterIdByWeekStart(weekStart)) {
+      doneByCharacter.merge((Long) row[1], groupBit((Long) row[0]), (a, b) -> a | b);
+    }
+
+    long[] doneGroups = new long[roster.size()];
+    for (int i = 0; i < roster.size(); i++) {
+      doneGroups[i] = doneByCharacter.getOrDefault(roster.getCharacterId(i), 0L);
+    }
+    return doneGroups;
+  }
+
+  private long groupBit(Long raidId) {
+    return 1L << raidCatalog.getGroupIndex(raidCatalog.getRaid(raidId).getRaidGroup());
+  }
+
+  /**
+   * 최근 계획의 진행 상황 (완료 시 계획 포함)
+   */
+  public WeeklyPlanProgressDTO getProgress() {
+    WeeklyPlanProgressDTO dto = new WeeklyPlanProgressDTO();
+    dto.setRunning(running.get());
+
+    PlanRun run = lastRun;
+    if (run == null) {
+      return dto;
+    }
+
+    dto.setStatus(run.status);
+    dto.setObjective(run.objective.name());
+    dto.setWeekStart(run.weekStart);
+    dto.setIterations(run.iterations);
+    dto.setTotalIterations(run.totalIterations);
+    dto.setStartedAt(run.startedAt);
+    dto.setUpdatedAt(run.updatedAt);
+    dto.setFinishedAt(run.finishedAt);
+    dto.setLastError(run.lastError);
+
+    double rate = run.totalIterations > 0 ? run.iterations * 100.0 / run.totalIterations : 0.0;
+    dto.setProgressRate(Math.round(rate * 10) / 10.0);
+
+    Plan best = run.best;
+    if (best != null) {
+      dto.setTotalGold(best.totalGold());
+      dto.setClears(best.clears());
+      dto.setPartyCount(best.parties().size());
+    }
+
+    RosterSnapshot roster = run.roster;
+    if (COMPLETED.equals(run.status) && best != null && roster != null) {
+      List<PlannedPartyDTO> parties = new ArrayList<>();
+      for (PlannedParty party : best.parties()) {
+        PlannedPartyDTO partyDto = new PlannedPartyDTO();
+        partyDto.setRaidId(party.raid().getId());
+        partyDto.setRaidName(party.raid().getRaidName());
+        partyDto.setDifficulty(party.raid().getDifficulty());
+        partyDto.setPartyType(party.raid().getPartyType());
+        partyDto.setDealers(charactersOf(roster, party.dealers()));
+        partyDto.setSupports(charactersOf(roster, party.supports()));
+        partyDto.setExpectedGold(party.gold());
+        parties.add(partyDto);
+      }
+      dto.setParties(parties);
+    }
+
+    return dto;
+  }
+
+  private List<Character> charactersOf(RosterSnapshot roster, int[] indexes) {
+    List<Character> characters = new ArrayList<>(indexes.length);
+    for (int index : indexes) {
+      characters.add(roster.getCharacter(index));
+    }
+    return characters;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  // 실행 1회의 상태 (계획 스레드가 쓰고 요청 스레드가 읽음)
+  private static class PlanRun {
+    private final Objective objective;
+    private final LocalDateTime weekStart;
+    private final int totalIterations;
+    private final LocalDateTime startedAt = WeeklyResetUtil.getCurrentKoreanTime();
+    private volatile String status = RUNNING;
+    private volatile int iterations;
+    private volatile Plan best;
+    private volatile RosterSnapshot roster;
+    private volatile LocalDateTime updatedAt = startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String lastError;
+
+    private PlanRun(Objective objective, LocalDateTime weekStart, int totalIterations) {
+      this.objective = objective;
+      this.weekStart = weekStart;
+      this.totalIterations = totalIterations;
+    }
+  }
+}
@@ -0,0 +1,278 @@
+package com.lostark.raidchecker.service;
+
+import com.lostark.raidchecker.dto.ResetJobProgressDTO;
+import com.lostark.raidchecker.entity.WeeklyResetJob;
+import com.lostark.raidchecker.repository.CharacterRepository;
+import com.lostark.raidchecker.repository.WeeklyChecklistBulkRepository;
+import com.lostark.raidchecker.repository.WeeklyResetJobRepository;
+import com.lostark.raidchecker.util.WeeklyResetUtil;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ✅ 주간 초기화 작업
+ * 화요일 새벽에 다음 주(weekStart) 체크리스트를 미리 만들어 두고,
+ * 수요일 06:00에는 getCurrentWeekStart()가 바뀌는 것만으로 "이번 주"가 넘어간다.
+ *
+ * 캐릭터를 id 순으로 chunk-size 개씩 나눠 청크마다 별도 트랜잭션으로 커밋하고,
+ * 같은 트랜잭션에서 체크포인트(마지막 캐릭터 id)를 저장한다.
+ * 서버가 중간에 내려가도 재시작 시 체크포인트부터 이어서 처리한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class WeeklyResetJobService {
+
+  private static final String RUNNING = "RUNNING";
+  private static final String COMPLETED = "COMPLETED";
+  private static final String FAILED = "FAILED";
+
+  private final WeeklyResetJobRepository weeklyResetJobRepository;
+  private final CharacterRepository characterRepository;
+  private final WeeklyChecklistBulkRepository weeklyChecklistBulkRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final CompletionProjector completionProjector;
+  private final DataVersions dataVersions;
+
+  // 완료 기록 보관 주 수 (이번 주 제외, 0이면 지난 기록을 삭제하지 않음)
+  @Value("${raidchecker.history.retention-weeks:0}")
+  private int historyRetentionWeeks;
+
+  // 한 트랜잭션에서 처리할 캐릭터 수
+  @Value("${raidchecker.reset.chunk-size:500}")
+  private int chunkSize;
+
+  private final ExecutorService executor = Executors.newSingleThreadExecutor();
+  private final AtomicBoolean running = new AtomicBoolean(false);
+
+  // 현재 실행의 처리량 계산용
+  private volatile LocalDateTime runStartedAt;
+  private volatile int runProcessed;
+
+  /**
+   * ✅ 화요일 새벽 (한가한 시간) 다음 주 체크리스트 미리 생성
+   */
+  @Scheduled(cron = "${raidchecker.reset.prestage-cron:0 0 4 * * TUE}", zone = "Asia/Seoul")
+  public void prestageNextWeek() {
+    startOrResume(WeeklyResetUtil.getNextWeekStart());
+  }
+
+  /**
+   * ✅ 매주 수요일 06:00 주간 초기화
+   * 화요일 작업이 끝났다면 할 일이 없고, 실패/누락된 경우에만 이번 주 작업을 이어서 진행한다.
+   */
+  @Scheduled(cron = "0 0 6 * * WED", zone = "Asia/Seoul")
+  public void weeklyReset() {
+    LocalDateTime weekStart = WeeklyResetUtil.getCurrentWeekStart();
+    if (!isCompleted(weekStart)) {
+      startOrResume(weekStart);
+    }
+  }
+
+  /**
+   * 서버 시작 시 끝나지 않은 작업이 있으면 이어서 진행 (재배포/장애 대비)
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void resumeOnStartup() {
+    weeklyResetJobRepository.findTopByOrderByWeekStartDesc()
+            .filter(job -> !COMPLETED.equals(job.getStatus()))
+            .ifPresentOrElse(
+                    job -> startOrResume(job.getWeekStart()),
+                    this::weeklyReset
+            );
+  }
+
+  private boolean isCompleted(LocalDateTime weekStart) {
+    return weeklyResetJobRepository.findByWeekStart(weekStart)
+            .map(job -> COMPLETED.equals(job.getStatus()))
+            .orElse(false);
+  }
+
+  /**
+   * 작업 시작 (이미 실행 중이면 무시)
+   * @return 새로 실행을 시작했으면 true
+   */
+  public boolean startOrResume(LocalDateTime weekStart) {
+    if (!running.compareAndSet(false, true)) {
+      return false;
+    }
+
+    executor.submit(() -> {
+      try {
+        run(weekStart);
+      } finally {
+        running.set(false);
+      }
+    });
+    return true;
+  }
+
+  private void run(LocalDateTime weekStart) {
+    // ✅ 작업 행 생성/갱신부터 try 안에서 (실패가 executor Future에 묻히지 않고 기록되도록)
+    try {
+      WeeklyResetJob job = transactionTemplate.execute(status -> {
+        WeeklyResetJob found = weeklyResetJobRepository.findByWeekStart(weekStart)
+                .orElseGet(() -> newJob(weekStart));
+        if (!COMPLETED.equals(found.getStatus())) {
+          found.setStatus(RUNNING);
+          found.setLastError(null);
+          found.setTotalCharacters((int) characterRepository.count());
+          found.setUpdatedAt(WeeklyResetUtil.getCurrentKoreanTime());
+        }
+        return weeklyResetJobRepository.save(found);
+      });
+
+      if (COMPLETED.equals(job.getStatus())) {
+        return;
+      }
+
+      Long jobId = job.getId();
+      LocalDateTime activeWeekStart = weekStart.minusWeeks(1);
+      // 보관 기간을 정하지 않았으면 (0) 삭제하지 않음
+      LocalDateTime retentionStart = historyRetentionWeeks > 0 ? weekStart.minusWeeks(historyRetentionWeeks) : null;
+      runStartedAt = WeeklyResetUtil.getCurrentKoreanTime();
+      runProcessed = 0;
+
+      System.out.println("=== 주간 초기화 시작: " + weekStart + " (체크포인트: 캐릭터 " + job.getLastCharacterId() + ") ===");
+
+      int processed;
+      do {
+        processed = transactionTemplate.execute(status -> processChunk(jobId, activeWeekStart, retentionStart));
+        runProcessed += processed;
+        if (processed > 0 && weekStart.equals(WeeklyResetUtil.getCurrentWeekStart())) {
+          dataVersions.allChanged();  // ✅ 이번 주 체크리스트가 생겼으므로 조회 ETag 변경
+        }
+      } while (processed > 0);
+
+      transactionTemplate.executeWithoutResult(status -> finish(jobId, retentionStart));
+      System.out.println("=== 주간 초기화 완료: " + weekStart + " ===");
+    } catch (Exception e) {
+      System.err.println("주간 초기화 실패: " + weekStart + " - " + e.getMessage());
+      try {
+        transactionTemplate.executeWithoutResult(status -> markFailed(weekStart, e));
+      } catch (Exception markError) {
+        System.err.println("주간 초기화 실패 기록 저장 실패: " + weekStart + " - " + markError.getMessage());
+      }
+    }
+  }
+
+  /**
+   * 캐릭터 한 청크 처리 + 체크포인트 저장 (같은 트랜잭션)
+   * - 보관 기간이 지난 기록 삭제 (retentionStart가 null이면 건너뜀)
+   * - 지난 주에 체크리스트가 있던 (활동 중인) 캐릭터만 대상 주 체크리스트 미리 생성
+   *   (나머지는 첫 관문 완료 시 생성)
+   */
+  private int processChunk(Long jobId, LocalDateTime activeWeekStart, LocalDateTime retentionStart) {
+    WeeklyResetJob job = weeklyResetJobRepository.findById(jobId)
+            .orElseThrow(() -> new RuntimeException("주간 초기화 작업을 찾을 수 없습니다."));
+
+    List<Long> characterIds = characterRepository.findIdsAfter(
+            job.getLastCharacterId(), PageRequest.of(0, chunkSize));
+    if (characterIds.isEmpty()) {
+      return 0;
+    }
+
+    long lastCharacterId = characterIds.get(characterIds.size() - 1);
+    int purged = retentionStart != null
+            ? weeklyChecklistBulkRepository.deleteCharacterWeeksBefore(job.getLastCharacterId(), lastCharacterId, retentionStart)
+            : 0;
+    int staged = weeklyChecklistBulkRepository.insertChecklistsForActiveCharacters(
+            job.getLastCharacterId(), lastCharacterId, job.getWeekStart(), activeWeekStart);
+
+    job.setLastCharacterId(lastCharacterId);
+    job.setProcessedCharacters(job.getProcessedCharacters() + characterIds.size());
+    job.setPurgedRows(job.getPurgedRows() + purged);
+    job.setStagedRows(job.getStagedRows() + staged);
+    job.setUpdatedAt(WeeklyResetUtil.getCurrentKoreanTime());
+
+    return characterIds.size();
+  }
+
+  private void finish(Long jobId, LocalDateTime retentionStart) {
+    WeeklyResetJob job = weeklyResetJobRepository.findById(jobId)
+            .orElseThrow(() -> new RuntimeException("주간 초기화 작업을 찾을 수 없습니다."));
+
+    if (retentionStart != null) {
+      int purgedParties = weeklyChecklistBulkRepository.deletePartyCompletionsBefore(retentionStart);
+      int purgedEvents = completionProjector.deleteBefore(retentionStart);
+      job.setPurgedRows(job.getPurgedRows() + purgedParties + purgedEvents);
+    }
+
+    LocalDateTime now = WeeklyResetUtil.getCurrentKoreanTime();
+    job.setStatus(COMPLETED);
+    job.setUpdatedAt(now);
+    job.setFinishedAt(now);
+  }
+
+  // 작업 행을 만들기 전에 실패했으면 기록할 행이 없다 (로그만 남음)
+  private void markFailed(LocalDateTime weekStart, Exception e) {
+    weeklyResetJobRepository.findByWeekStart(weekStart).ifPresent(job -> {
+      String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+      job.setStatus(FAILED);
+      job.setLastError(message.length() > 500 ? message.substring(0, 500) : message);
+      job.setUpdatedAt(WeeklyResetUtil.getCurrentKoreanTime());
+    });
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private WeeklyResetJob newJob(LocalDateTime weekStart) {
+    WeeklyResetJob job = new WeeklyResetJob();
+    job.setWeekStart(weekStart);
+    job.setStartedAt(WeeklyResetUtil.getCurrentKoreanTime());
+    return job;
+  }
+
+  /**
+   * 가장 최근 작업의 진행 상황
+   */
+  public ResetJobProgressDTO getProgress() {
+    ResetJobProgressDTO dto = new ResetJobProgressDTO();
+    dto.setRunning(running.get());
+
+    weeklyResetJobRepository.findTopByOrderByWeekStartDesc().ifPresent(job -> {
+      dto.setWeekStart(job.getWeekStart());
+      dto.setStatus(job.getStatus());
+      dto.setLastCharacterId(job.getLastCharacterId());
+      dto.setProcessedCharacters(job.getProcessedCharacters());
+      dto.setTotalCharacters(job.getTotalCharacters());
+      dto.setPurgedRows(job.getPurgedRows());
+      dto.setStagedRows(job.getStagedRows());
+      dto.setStartedAt(job.getStartedAt());
+      dto.setUpdatedAt(job.getUpdatedAt());
+      dto.setFinishedAt(job.getFinishedAt());
+      dto.setLastError(job.getLastError());
+
+      double rate = job.getTotalCharacters() > 0
+              ? Math.min(100.0, job.getProcessedCharacters() * 100.0 / job.getTotalCharacters())
+              : (COMPLETED.equals(job.getStatus()) ? 100.0 : 0.0);
+      dto.setProgressRate(Math.round(rate * 10) / 10.0);
+    });
+
+    LocalDateTime startedAt = runStartedAt;
+    if (startedAt != null) {
+      long millis = Duration.between(startedAt, WeeklyResetUtil.getCurrentKoreanTime()).toMillis();
+      if (millis > 0) {
+        dto.setCharactersPerSecond(Math.round(runProcessed * 10000.0 / millis) / 10.0);
+      }
+    }
+
+    return dto;
+  }
+}
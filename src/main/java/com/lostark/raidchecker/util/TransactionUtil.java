@@ -0,0 +1,24 @@
+package com.lostark.raidchecker.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class TransactionUtil {
+
+  /**
+   * ✅ 현재 트랜잭션이 커밋된 뒤 실행 (트랜잭션 밖이면 바로 실행, 롤백되면 실행 안 함)
+   * 메모리 캐시/스냅샷이 커밋되지 않은 변경을 보지 않도록 할 때 사용
+   */
+  public static void afterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          action.run();
+        }
+      });
+    } else {
+      action.run();
+    }
+  }
+}
@@ -34,6 +34,13 @@ public class WeeklyResetUtil {
     return wednesday.toLocalDateTime();
   }
 
+  /**
+   * 다음 주 수요일 오전 6시 반환 (다음 초기화 시각)
+   */
+  public static LocalDateTime getNextWeekStart() {
+    return getCurrentWeekStart().plusWeeks(1);
+  }
+
   /**
    * ✅ 현재 한국 시간 반환
    */
@@ -0,0 +1,207 @@
+package com.lostark.raidchecker.service;
+
+import com.lostark.raidchecker.entity.GateCompletion;
+import com.lostark.raidchecker.entity.Raid;
+import com.lostark.raidchecker.entity.RaidGate;
+import com.lostark.raidchecker.entity.WeeklyCompletion;
+import com.lostark.raidchecker.repository.RaidRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 골드 3그룹 제한 / 같은 그룹 난이도 잠금 / 취소 시 골드 동기화 확인
+ * 레이드: 1막(노말, 하드 = 같은 그룹), 2막, 3막, 4막 / 관문 2개, 관문 골드 500, 더보기 100
+ */
+class CharacterWeekStateTest {
+
+  private RaidCatalog raidCatalog;
+  private final List<WeeklyCompletion> completions = new ArrayList<>();
+
+  private WeeklyCompletion act1Normal;
+  private WeeklyCompletion act1Hard;
+  private WeeklyCompletion act2;
+  private WeeklyCompletion act3;
+  private WeeklyCompletion act4;
+
+  @BeforeEach
+  void setUp() {
+    List<Raid> raids = List.of(
+            raid(1L, "1막", "노말", 1),
+            raid(2L, "1막", "하드", 2),
+            raid(3L, "2막", "노말", 3),
+            raid(4L, "3막", "노말", 4),
+            raid(5L, "4막", "노말", 5));
+    RaidRepository raidRepository = mock(RaidRepository.class);
+    when(raidRepository.findAllWithGates()).thenReturn(raids);
+    raidCatalog = new RaidCatalog(raidRepository);
+
+    act1Normal = weeklyCompletion(raids.get(0));
+    act1Hard = weeklyCompletion(raids.get(1));
+    act2 = weeklyCompletion(raids.get(2));
+    act3 = weeklyCompletion(raids.get(3));
+    act4 = weeklyCompletion(raids.get(4));
+  }
+
+  @Test
+  void fourthGroupEarnsNoGold() {
+    CharacterWeekState state = state();
+    state.complete(gate(act1Normal, 1), false);
+    state.complete(gate(act2, 1), false);
+    state.complete(gate(act3, 1), false);
+
+    state.complete(gate(act4, 1), false);
+
+    assertThat(gate(act4, 1).getEarnedGold()).isZero();
+    assertThat(act4.getCompleted()).isTrue();
+    assertThat(act4.getEarnedGold()).isZero();
+    assertThat(state.getStartedGroupCount()).isEqualTo(4);
+    assertThat(state.getTotalGold()).isEqualTo(1500);
+  }
+
+  @Test
+  void startedGroupKeepsEarningGold() {
+    CharacterWeekState state = state();
+    state.complete(gate(act1Normal, 1), false);
+    state.complete(gate(act2, 1), false);
+    state.complete(gate(act3, 1), false);
+
+    state.complete(gate(act2, 2), true);
+
+    assertThat(gate(act2, 2).getEarnedGold()).isEqualTo(400);
+    assertThat(act2.getEarnedGold()).isEqualTo(900);
+    assertThat(state.getTotalGold()).isEqualTo(1900);
+  }
+
+  @Test
+  void startedGroupStillEarnsGoldWhenReloaded() {
+    state().complete(gate(act1Normal, 1), false);
+    CharacterWeekState first = state();
+    first.complete(gate(act2, 1), false);
+    first.complete(gate(act3, 1), false);
+
+    // 다시 읽은 상태에서도 이미 시작한 그룹은 골드, 새 그룹은 0
+    CharacterWeekState reloaded = state();
+    assertThat(reloaded.canEarnGold("1막")).isTrue();
+    assertThat(reloaded.canEarnGold("4막")).isFalse();
+
+    reloaded.complete(gate(act1Normal, 2), false);
+    assertThat(gate(act1Normal, 2).getEarnedGold()).isEqualTo(500);
+  }
+
+  @Test
+  void clearingOneDifficultyLocksAndUnlocksSiblings() {
+    CharacterWeekState state = state();
+
+    state.complete(gate(act1Normal, 1), false);
+
+    assertThat(act1Hard.getCompleted()).isTrue();
+    assertThat(act1Hard.getEarnedGold()).isZero();
+    assertThat(state.isGroupStarted("1막")).isTrue();
+    assertThat(state.getCompletedRaidCount()).isEqualTo(2);
+    assertThat(state.isStartedGroupsChanged()).isTrue();
+
+    state.uncomplete(gate(act1Normal, 1));
+
+    assertThat(act1Normal.getCompleted()).isFalse();
+    assertThat(act1Hard.getCompleted()).isFalse();
+    assertThat(act1Normal.getEarnedGold()).isZero();
+    assertThat(act1Hard.getEarnedGold()).isZero();
+    assertThat(state.isGroupStarted("1막")).isFalse();
+    assertThat(state.isStartedGroupsChanged()).isFalse();
+    assertThat(state.getTotalGold()).isZero();
+  }
+
+  @Test
+  void uncompletingFreesGoldSlotForAnotherGroup() {
+    CharacterWeekState state = state();
+    state.complete(gate(act1Normal, 1), false);
+    state.complete(gate(act2, 1), false);
+    state.complete(gate(act3, 1), false);
+    assertThat(state.canEarnGold("4막")).isFalse();
+
+    state.uncomplete(gate(act3, 1));
+
+    assertThat(state.canEarnGold("4막")).isTrue();
+    state.complete(gate(act4, 1), false);
+    assertThat(gate(act4, 1).getEarnedGold()).isEqualTo(500);
+  }
+
+  /**
+   * 기존 recheckSameRaidGroupCompletions와 같은 결과:
+   * 같은 그룹에 완료 관문이 남아 있으면 실제 완료한 난이도의 골드를 다른 난이도에 그대로 복사하고 완료 표시
+   */
+  @Test
+  void uncompleteCopiesActualGoldToSiblingsLikeBaseline() {
+    CharacterWeekState state = state();
+    state.complete(gate(act1Normal, 1), false);
+    state.complete(gate(act1Normal, 2), false);
+    assertThat(act1Normal.getEarnedGold()).isEqualTo(1000);
+
+    state.uncomplete(gate(act1Normal, 2));
+
+    assertThat(act1Normal.getCompleted()).isTrue();
+    assertThat(act1Normal.getEarnedGold()).isEqualTo(500);
+    assertThat(act1Hard.getCompleted()).isTrue();
+    assertThat(act1Hard.getEarnedGold()).isEqualTo(500);
+    assertThat(state.getTotalGold()).isEqualTo(sumOfEarnedGold());
+  }
+
+  @Test
+  void uncompleteWithExtraRewardCopiesNetGold() {
+    CharacterWeekState state = state();
+    state.complete(gate(act1Hard, 1), true);
+    state.complete(gate(act1Hard, 2), false);
+
+    state.uncomplete(gate(act1Hard, 2));
+
+    assertThat(act1Hard.getEarnedGold()).isEqualTo(400);
+    assertThat(act1Normal.getCompleted()).isTrue();
+    assertThat(act1Normal.getEarnedGold()).isEqualTo(400);
+    assertThat(state.getTotalGold()).isEqualTo(sumOfEarnedGold());
+  }
+
+  private CharacterWeekState state() {
+    return CharacterWeekState.of(completions, raidCatalog);
+  }
+
+  private int sumOfEarnedGold() {
+    return completions.stream().mapToInt(WeeklyCompletion::getEarnedGold).sum();
+  }
+
+  private GateCompletion gate(WeeklyCompletion wc, int gateNumber) {
+    return wc.getGateCompletions().stream()
+            .filter(gc -> gc.getRaidGate().getGateNumber() == gateNumber)
+            .findFirst()
+            .orElseThrow();
+  }
+
+  private Raid raid(Long id, String raidGroup, String difficulty, int orderIndex) {
+    Raid raid = new Raid(raidGroup, difficulty, 1600.0, orderIndex, 1000);
+    raid.setId(id);
+    raid.setRaidGroup(raidGroup);
+    raid.addGate(1, 500, 100);
+    raid.addGate(2, 500, 100);
+    for (RaidGate gate : raid.getGates()) {
+      gate.setId(id * 10 + gate.getGateNumber());
+    }
+    return raid;
+  }
+
+  private WeeklyCompletion weeklyCompletion(Raid raid) {
+    WeeklyCompletion wc = new WeeklyCompletion();
+    wc.setId(raid.getId() * 100);
+    wc.setRaid(raid);
+    for (RaidGate gate : raid.getGates()) {
+      wc.getGateCompletions().add(new GateCompletion(gate.getId() * 100, wc, gate, false, false, 0, 0L));
+    }
+    completions.add(wc);
+    return wc;
+  }
+}
@@ -0,0 +1,213 @@
+package com.lostark.raidchecker.service;
+
+import com.lostark.raidchecker.dto.ProjectionReconcileResultDTO;
+import com.lostark.raidchecker.entity.Character;
+import com.lostark.raidchecker.entity.GateCompletion;
+import com.lostark.raidchecker.entity.GateCompletionEvent;
+import com.lostark.raidchecker.entity.Raid;
+import com.lostark.raidchecker.entity.RaidGate;
+import com.lostark.raidchecker.entity.User;
+import com.lostark.raidchecker.entity.WeeklyCompletion;
+import com.lostark.raidchecker.repository.CompletionProjectionRepository;
+import com.lostark.raidchecker.repository.UserStatsRepository;
+import com.lostark.raidchecker.repository.WeeklyChecklistBulkRepository;
+import com.lostark.raidchecker.util.WeeklyResetUtil;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 관리자 주간 집계 대사/재생성 (MasterService 진입점, 실제 커밋)
+ * H2는 읽기 전용 연결에서도 쓰기를 허용하므로, MySQL처럼 읽기 전용 연결의 쓰기 SQL을 거부하는 DataSource로 감싼다.
+ * 원본 기록만 있고 집계/이벤트가 없는 주를 만들어 두고 집계가 원본과 같아지는지 본다.
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:masterprojection;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({MasterService.class, CompletionProjector.class, CompletionProjectionRepository.class,
+        UserDashboardStore.class, RaidComparisonCache.class, RaidCatalog.class,
+        WeeklyChecklistBulkRepository.class, UserStatsRepository.class})
+class MasterServiceProjectionTest {
+
+  /**
+   * 읽기 전용 연결에서 SELECT 이외의 SQL을 준비하면 실패 (MySQL 읽기 전용 트랜잭션과 같게)
+   */
+  @TestConfiguration
+  static class ReadOnlyConfig {
+    @Bean
+    static BeanPostProcessor readOnlyEnforcingDataSource() {
+      return new BeanPostProcessor() {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+          return bean instanceof DataSource dataSource ? new ReadOnlyEnforcingDataSource(dataSource) : bean;
+        }
+      };
+    }
+  }
+
+  private static class ReadOnlyEnforcingDataSource extends DelegatingDataSource {
+    ReadOnlyEnforcingDataSource(DataSource target) {
+      super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+      return enforcing(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+      return enforcing(super.getConnection(username, password));
+    }
+
+    private Connection enforcing(Connection target) {
+      boolean[] readOnly = {false};
+      return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+              (proxy, method, args) -> {
+                if (method.getName().equals("setReadOnly")) {
+                  readOnly[0] = (Boolean) args[0];
+                } else if (readOnly[0] && method.getName().equals("prepareStatement")
+                        && !((String) args[0]).trim().toUpperCase().startsWith("SELECT")) {
+                  throw new SQLException("Cannot execute statement in a READ ONLY transaction: " + args[0]);
+                }
+                try {
+                  return method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                  throw e.getTargetException();
+                }
+              });
+    }
+  }
+
+  @MockitoBean
+  private WeeklyResetJobService weeklyResetJobService;
+
+  @MockitoBean
+  private CharacterService characterService;
+
+  @MockitoBean
+  private PasswordEncoder passwordEncoder;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private MasterService masterService;
+
+  private Long userId;
+  private Long characterId;
+
+  @BeforeEach
+  void setUp() {
+    // 1관문만 완료 (500골드), 이벤트/집계 없음
+    transactionTemplate.executeWithoutResult(status -> {
+      User user = new User();
+      user.setUsername("tester");
+      user.setPassword("password");
+      entityManager.persist(user);
+      userId = user.getId();
+
+      Character character = new Character();
+      character.setCharacterName("테스트캐릭터");
+      character.setClassName("버서커");
+      character.setItemLevel(1700.0);
+      character.setUser(user);
+      entityManager.persist(character);
+      characterId = character.getId();
+
+      Raid raid = new Raid("카제로스 1막", "노말", 1600.0, 1, 1000);
+      raid.addGate(1, 500, 100);
+      raid.addGate(2, 500, 100);
+      entityManager.persist(raid);
+
+      WeeklyCompletion completion = new WeeklyCompletion();
+      completion.setCharacter(character);
+      completion.setRaid(raid);
+      completion.setWeekStart(WeeklyResetUtil.getCurrentWeekStart());
+      completion.setEarnedGold(500);
+      for (RaidGate gate : raid.getGates()) {
+        boolean completed = gate.getGateNumber() == 1;
+        completion.getGateCompletions().add(
+                new GateCompletion(null, completion, gate, completed, false, completed ? 500 : 0, 0L));
+      }
+      entityManager.persist(completion);
+    });
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.update("DELETE FROM gate_completion_events");
+    jdbcTemplate.update("DELETE FROM character_week_summaries");
+    jdbcTemplate.update("DELETE FROM user_week_summaries");
+    jdbcTemplate.update("DELETE FROM gate_completions");
+    jdbcTemplate.update("DELETE FROM weekly_completions");
+    jdbcTemplate.update("DELETE FROM raid_gates");
+    jdbcTemplate.update("DELETE FROM raids");
+    jdbcTemplate.update("DELETE FROM characters");
+    jdbcTemplate.update("DELETE FROM users");
+  }
+
+  @Test
+  void reconcileCorrectsProjection() {
+    ProjectionReconcileResultDTO result = masterService.reconcileCompletionProjection(null);
+
+    assertThat(result.getCorrectedCharacters()).isEqualTo(1);
+    assertThat(characterWeekGold()).isEqualTo(500);
+    assertThat(userWeekGold()).isEqualTo(500);
+    assertThat(eventCount(GateCompletionEvent.RECONCILE)).isEqualTo(1);
+  }
+
+  @Test
+  void replayRebuildsProjectionFromSnapshot() {
+    masterService.replayCompletionProjection(null);
+
+    assertThat(characterWeekGold()).isEqualTo(500);
+    assertThat(userWeekGold()).isEqualTo(500);
+    assertThat(eventCount(GateCompletionEvent.SNAPSHOT)).isEqualTo(1);
+  }
+
+  private int characterWeekGold() {
+    return jdbcTemplate.queryForObject(
+            "SELECT COALESCE(SUM(earned_gold), 0) FROM character_week_summaries WHERE character_id = ?",
+            Integer.class, characterId);
+  }
+
+  private int userWeekGold() {
+    return jdbcTemplate.queryForObject(
+            "SELECT COALESCE(SUM(earned_gold), 0) FROM user_week_summaries WHERE user_id = ?", Integer.class, userId);
+  }
+
+  private int eventCount(String type) {
+    return jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM gate_completion_events WHERE type = ?", Integer.class, type);
+  }
+}
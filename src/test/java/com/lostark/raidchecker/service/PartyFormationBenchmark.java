@@ -0,0 +1,118 @@
+package com.lostark.raidchecker.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 파티 구성 벤치마크: PartyFormationSolver vs 기존 그리디 (섞은 순서대로 채우기)
+ * 실행: PartyFormationBenchmark.main (test 클래스패스)
+ * 만든 파티 수는 setup 로그로 함께 출력한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PartyFormationBenchmark {
+
+  @Param({"200", "2000", "5000"})
+  private int characters;
+
+  // 8 = 카제로스 (6+2), 4 = 그림자 (3+1)
+  @Param({"8", "4"})
+  private int partySize;
+
+  private long[] dealerUserIds;
+  private long[] supportUserIds;
+  private int dealersPerParty;
+  private int supportsPerParty;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    dealersPerParty = partySize == 8 ? 6 : 3;
+    supportsPerParty = partySize == 8 ? 2 : 1;
+
+    // 유저당 캐릭터 1~6개, 서폿 비율 약 25%
+    Random random = new Random(42);
+    List<Long> dealers = new ArrayList<>();
+    List<Long> supports = new ArrayList<>();
+    long userId = 0;
+    while (dealers.size() + supports.size() < characters) {
+      userId++;
+      int owned = 1 + random.nextInt(6);
+      for (int i = 0; i < owned; i++) {
+        (random.nextInt(4) == 0 ? supports : dealers).add(userId);
+      }
+    }
+    dealerUserIds = dealers.stream().mapToLong(Long::longValue).toArray();
+    supportUserIds = supports.stream().mapToLong(Long::longValue).toArray();
+
+    System.out.println("\n파티 수 (solver / greedy): " + solver() + " / " + greedy());
+  }
+
+  @Benchmark
+  public int solver() {
+    return PartyFormationSolver.solve(dealerUserIds, supportUserIds, dealersPerParty, supportsPerParty).size();
+  }
+
+  /**
+   * 기존 방식: 파티 단위로 앞에서부터 같은 유저를 피해 채우고, 못 채우면 종료
+   */
+  @Benchmark
+  public int greedy() {
+    boolean[] dealerUsed = new boolean[dealerUserIds.length];
+    boolean[] supportUsed = new boolean[supportUserIds.length];
+    int parties = 0;
+
+    while (true) {
+      Set<Long> partyUserIds = new HashSet<>();
+      List<Integer> selectedDealers = new ArrayList<>();
+      List<Integer> selectedSupports = new ArrayList<>();
+
+      for (int i = 0; i < dealerUserIds.length && selectedDealers.size() < dealersPerParty; i++) {
+        if (!dealerUsed[i] && partyUserIds.add(dealerUserIds[i])) {
+          selectedDealers.add(i);
+        }
+      }
+      for (int i = 0; i < supportUserIds.length && selectedSupports.size() < supportsPerParty; i++) {
+        if (!supportUsed[i] && partyUserIds.add(supportUserIds[i])) {
+          selectedSupports.add(i);
+        }
+      }
+
+      if (selectedDealers.size() < dealersPerParty || selectedSupports.size() < supportsPerParty) {
+        return parties;
+      }
+      selectedDealers.forEach(i -> dealerUsed[i] = true);
+      selectedSupports.forEach(i -> supportUsed[i] = true);
+      parties++;
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+            .include(PartyFormationBenchmark.class.getSimpleName())
+            .build()).run();
+  }
+}
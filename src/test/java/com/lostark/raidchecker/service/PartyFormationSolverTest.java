@@ -0,0 +1,151 @@
+package com.lostark.raidchecker.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 파티 구성 결과 확인
+ * 작은 무작위 로스터에서 파티 수를 완전 탐색 결과와 비교하고,
+ * 모든 파티가 인원 구성(8인 6+2, 4인 3+1)을 채우며 같은 유저 캐릭터가 한 파티에 두 명 없는지 본다.
+ */
+class PartyFormationSolverTest {
+
+  private static final int ROSTERS = 300;
+
+  @Test
+  void fourPlayerPartiesMatchBruteForce() {
+    checkRandomRosters(new Random(4), 3, 1, 6, 3, 2);
+  }
+
+  @Test
+  void eightPlayerPartiesMatchBruteForce() {
+    checkRandomRosters(new Random(8), 6, 2, 10, 3, 2);
+  }
+
+  @Test
+  void noPartyWithoutEnoughUsers() {
+    // 유저 2명뿐이면 4인 파티 불가 (캐릭터가 많아도 같은 유저는 한 파티에 1명)
+    long[] dealers = {1, 1, 1, 2, 2, 2};
+    long[] supports = {1, 2};
+
+    assertThat(PartyFormationSolver.solve(dealers, supports, 3, 1)).isEmpty();
+  }
+
+  private void checkRandomRosters(Random random, int dealersPerParty, int supportsPerParty,
+                                  int maxUsers, int maxDealersPerUser, int maxSupportsPerUser) {
+    int mostParties = 0;
+    for (int roster = 0; roster < ROSTERS; roster++) {
+      int users = 1 + random.nextInt(maxUsers);
+      int[] dealerCounts = new int[users];
+      int[] supportCounts = new int[users];
+      List<Long> dealerUsers = new ArrayList<>();
+      List<Long> supportUsers = new ArrayList<>();
+      for (int u = 0; u < users; u++) {
+        dealerCounts[u] = random.nextInt(maxDealersPerUser + 1);
+        supportCounts[u] = random.nextInt(maxSupportsPerUser + 1);
+        for (int i = 0; i < dealerCounts[u]; i++) {
+          dealerUsers.add(100L + u);
+        }
+        for (int i = 0; i < supportCounts[u]; i++) {
+          supportUsers.add(100L + u);
+        }
+      }
+      Collections.shuffle(dealerUsers, random);
+      Collections.shuffle(supportUsers, random);
+      long[] dealerUserIds = dealerUsers.stream().mapToLong(Long::longValue).toArray();
+      long[] supportUserIds = supportUsers.stream().mapToLong(Long::longValue).toArray();
+
+      List<PartyFormationSolver.Party> parties =
+              PartyFormationSolver.solve(dealerUserIds, supportUserIds, dealersPerParty, supportsPerParty);
+
+      String description = "딜러 " + Arrays.toString(dealerCounts) + ", 서폿 " + Arrays.toString(supportCounts);
+      assertThat(parties).as(description)
+              .hasSize(bruteForce(dealerCounts, supportCounts, dealersPerParty, supportsPerParty, new HashMap<>()));
+      assertValidParties(parties, dealerUserIds, supportUserIds, dealersPerParty, supportsPerParty);
+      mostParties = Math.max(mostParties, parties.size());
+    }
+    assertThat(mostParties).as("여러 파티가 나오는 로스터도 확인").isGreaterThan(1);
+  }
+
+  private void assertValidParties(List<PartyFormationSolver.Party> parties, long[] dealerUserIds,
+                                  long[] supportUserIds, int dealersPerParty, int supportsPerParty) {
+    Set<Integer> usedDealers = new HashSet<>();
+    Set<Integer> usedSupports = new HashSet<>();
+    for (PartyFormationSolver.Party party : parties) {
+      assertThat(party.dealers()).hasSize(dealersPerParty);
+      assertThat(party.supports()).hasSize(supportsPerParty);
+
+      Set<Long> partyUsers = new HashSet<>();
+      for (int dealer : party.dealers()) {
+        assertThat(usedDealers.add(dealer)).as("딜러 중복 배정").isTrue();
+        assertThat(partyUsers.add(dealerUserIds[dealer])).as("같은 유저 중복").isTrue();
+      }
+      for (int support : party.supports()) {
+        assertThat(usedSupports.add(support)).as("서폿 중복 배정").isTrue();
+        assertThat(partyUsers.add(supportUserIds[support])).as("같은 유저 중복").isTrue();
+      }
+    }
+  }
+
+  /**
+   * 완전 탐색: 파티를 하나씩 만들며 (딜러 유저 조합 × 서폿 유저 조합) 전부 시도
+   * 같은 역할 캐릭터는 서로 바꿔도 같으므로 유저별 남은 인원만 상태로 메모한다.
+   */
+  private int bruteForce(int[] dealers, int[] supports, int dealersPerParty, int supportsPerParty,
+                         Map<String, Integer> memo) {
+    String key = Arrays.toString(dealers) + Arrays.toString(supports);
+    Integer cached = memo.get(key);
+    if (cached != null) {
+      return cached;
+    }
+
+    int users = dealers.length;
+    int best = 0;
+    for (int dealerMask = 0; dealerMask < (1 << users); dealerMask++) {
+      if (Integer.bitCount(dealerMask) != dealersPerParty || !covers(dealerMask, dealers)) {
+        continue;
+      }
+      for (int supportMask = 0; supportMask < (1 << users); supportMask++) {
+        if (Integer.bitCount(supportMask) != supportsPerParty || (supportMask & dealerMask) != 0
+                || !covers(supportMask, supports)) {
+          continue;
+        }
+        take(dealerMask, dealers, -1);
+        take(supportMask, supports, -1);
+        best = Math.max(best, 1 + bruteForce(dealers, supports, dealersPerParty, supportsPerParty, memo));
+        take(dealerMask, dealers, 1);
+        take(supportMask, supports, 1);
+      }
+    }
+    memo.put(key, best);
+    return best;
+  }
+
+  private boolean covers(int mask, int[] counts) {
+    for (int u = 0; u < counts.length; u++) {
+      if ((mask & (1 << u)) != 0 && counts[u] == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void take(int mask, int[] counts, int delta) {
+    for (int u = 0; u < counts.length; u++) {
+      if ((mask & (1 << u)) != 0) {
+        counts[u] += delta;
+      }
+    }
+  }
+}
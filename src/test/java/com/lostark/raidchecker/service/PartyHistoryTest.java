@@ -0,0 +1,103 @@
+package com.lostark.raidchecker.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 공격대 기록 요약 카운트 테이블 (확장 / 음수 증감 / 0이 된 칸) 확인
+ */
+class PartyHistoryTest {
+
+  @Test
+  void resizeKeepsEveryCount() {
+    PartyHistory.Counts counts = new PartyHistory.Counts();
+    int initialCapacity = counts.capacity();
+
+    for (long key = 1; key <= 100; key++) {
+      counts.add(key, (int) key);
+    }
+
+    assertThat(counts.capacity()).isGreaterThan(initialCapacity);
+    assertThat(counts.size() * 2).isLessThanOrEqualTo(counts.capacity());
+    for (long key = 1; key <= 100; key++) {
+      assertThat(counts.get(key)).isEqualTo((int) key);
+    }
+    assertThat(counts.get(101)).isZero();
+  }
+
+  @Test
+  void negativeDeltaNeverGoesBelowZero() {
+    PartyHistory.Counts counts = new PartyHistory.Counts();
+
+    counts.add(7, -1);  // 없는 기록 취소는 무시
+    assertThat(counts.get(7)).isZero();
+    assertThat(counts.size()).isZero();
+
+    counts.add(7, 2);
+    counts.add(7, -5);
+    assertThat(counts.get(7)).isZero();
+
+    counts.add(7, 1);
+    assertThat(counts.get(7)).isEqualTo(1);
+  }
+
+  @Test
+  void zeroedSlotKeepsProbeChainForLaterKeys() {
+    PartyHistory.Counts counts = new PartyHistory.Counts();
+    for (long key = 1; key <= 8; key++) {
+      counts.add(key, 1);
+    }
+
+    // 0으로 돌아간 칸도 키는 남아 있어 뒤에 탐사된 키를 계속 찾을 수 있다
+    for (long key = 1; key <= 4; key++) {
+      counts.add(key, -1);
+    }
+
+    assertThat(counts.size()).isEqualTo(8);
+    for (long key = 1; key <= 4; key++) {
+      assertThat(counts.get(key)).isZero();
+    }
+    for (long key = 5; key <= 8; key++) {
+      assertThat(counts.get(key)).isEqualTo(1);
+    }
+
+    counts.add(3, 1);
+    assertThat(counts.get(3)).isEqualTo(1);
+    assertThat(counts.size()).isEqualTo(8);
+  }
+
+  @Test
+  void copyIsIndependent() {
+    PartyHistory.Counts counts = new PartyHistory.Counts();
+    counts.add(1, 1);
+
+    PartyHistory.Counts copy = counts.copy();
+    copy.add(1, 1);
+    copy.add(2, 1);
+
+    assertThat(counts.get(1)).isEqualTo(1);
+    assertThat(counts.get(2)).isZero();
+    assertThat(copy.get(1)).isEqualTo(2);
+  }
+
+  @Test
+  void withPartyAddsAndRemovesPairsWithoutChangingOriginal() {
+    PartyHistory history = PartyHistory.builder(LocalDateTime.of(2026, 10, 14, 6, 0))
+            .add(new long[]{1, 2, 3, 4}, 4)
+            .build();
+
+    PartyHistory added = history.withParty(new long[]{2, 1, 5, 6}, 6, 1);
+    PartyHistory removed = added.withParty(new long[]{1, 2, 3, 4}, 4, -1);
+
+    assertThat(history.pairCount(1, 2)).isEqualTo(1);
+    assertThat(added.pairCount(2, 1)).isEqualTo(2);
+    assertThat(added.pairCount(5, 6)).isEqualTo(1);
+    assertThat(removed.pairCount(1, 2)).isEqualTo(1);
+    assertThat(removed.pairCount(3, 4)).isZero();
+    assertThat(removed.carriedCount(4)).isZero();
+    assertThat(removed.carriedCount(6)).isEqualTo(1);
+  }
+}
@@ -0,0 +1,280 @@
+package com.lostark.raidchecker.service;
+
+import com.lostark.raidchecker.entity.Character;
+import com.lostark.raidchecker.entity.GateCompletion;
+import com.lostark.raidchecker.entity.Raid;
+import com.lostark.raidchecker.entity.RaidGate;
+import com.lostark.raidchecker.entity.User;
+import com.lostark.raidchecker.entity.WeeklyCompletion;
+import com.lostark.raidchecker.repository.CompletionProjectionRepository;
+import com.lostark.raidchecker.repository.WeeklyChecklistBulkRepository;
+import com.lostark.raidchecker.util.WeeklyResetUtil;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 관문 토글 1회에 실행되는 SQL 수 확인 (서비스 트랜잭션이 실제로 커밋된 뒤, JDBC 연결에서 센다)
+ * - 조회 1회 (캐릭터 한 주 + 관문 완료 기록) + 변경된 GateCompletion/WeeklyCompletion UPDATE 2회
+ * - 골드 그룹 구성이 바뀌는 토글이면 커밋 시점에 기준 기록 버전 UPDATE 1회
+ * - 주간 집계 프로젝션: 이벤트 INSERT 1회 + 캐릭터/유저 집계 upsert 2회 (H2 MySQL 모드로 실제 실행)
+ * 커밋 후 대시보드 갱신은 증감을 메모리에서 더하므로 SQL이 없다.
+ * 대시보드/ETag 버전/로스터 스냅샷도 실제 빈을 쓰고 측정 전에 미리 적재한다.
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:statementcount;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({WeeklyCompletionService.class, RaidCatalog.class, WeeklyChecklistBulkRepository.class,
+        CompletionProjector.class, CompletionProjectionRepository.class, UserDashboardStore.class,
+        RaidComparisonCache.class, DataVersions.class, RosterSnapshotHolder.class})
+class WeeklyCompletionServiceStatementCountTest {
+
+  private static final AtomicInteger STATEMENTS = new AtomicInteger();
+  private static final Set<String> STATEMENT_METHODS = Set.of("prepareStatement", "prepareCall", "createStatement");
+
+  /**
+   * DataSource를 감싸 연결에서 만든 Statement 수를 센다
+   * (Hibernate 통계는 JdbcTemplate으로 실행한 집계 SQL을 세지 않으므로)
+   */
+  @TestConfiguration
+  static class StatementCountConfig {
+    @Bean
+    static BeanPostProcessor statementCountingDataSource() {
+      return new BeanPostProcessor() {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+          return bean instanceof DataSource dataSource ? new CountingDataSource(dataSource) : bean;
+        }
+      };
+    }
+  }
+
+  private static class CountingDataSource extends DelegatingDataSource {
+    CountingDataSource(DataSource target) {
+      super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+      return counting(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+      return counting(super.getConnection(username, password));
+    }
+
+    private Connection counting(Connection target) {
+      return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+              (proxy, method, args) -> {
+                if (STATEMENT_METHODS.contains(method.getName())) {
+                  STATEMENTS.incrementAndGet();
+                }
+                try {
+                  return method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                  throw e.getTargetException();
+                }
+              });
+    }
+  }
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private WeeklyCompletionService weeklyCompletionService;
+
+  @Autowired
+  private RaidCatalog raidCatalog;
+
+  @Autowired
+  private UserDashboardStore userDashboardStore;
+
+  @Autowired
+  private DataVersions dataVersions;
+
+  @Autowired
+  private RosterSnapshotHolder rosterSnapshotHolder;
+
+  private Long userId;
+  private Long characterId;
+  private Long firstRaidGateId;
+  private Long secondRaidGateId;
+  private Long firstGateCompletionId;   // 1막 1관문 (이 주의 기준 기록 = 1막)
+  private Long secondGateCompletionId;  // 1막 2관문
+  private Long otherGateCompletionId;   // 2막 1관문
+
+  @BeforeEach
+  void setUp() {
+    transactionTemplate.executeWithoutResult(status -> {
+      User user = new User();
+      user.setUsername("tester");
+      user.setPassword("password");
+      entityManager.persist(user);
+      userId = user.getId();
+
+      Character character = new Character();
+      character.setCharacterName("테스트캐릭터");
+      character.setClassName("버서커");
+      character.setItemLevel(1700.0);
+      character.setUser(user);
+      entityManager.persist(character);
+      characterId = character.getId();
+
+      Raid raid = createRaid("카제로스 1막", 1);
+      Raid otherRaid = createRaid("카제로스 2막", 2);
+
+      LocalDateTime weekStart = WeeklyResetUtil.getCurrentWeekStart();
+      WeeklyCompletion completion = createWeeklyCompletion(character, raid, weekStart);
+      WeeklyCompletion otherCompletion = createWeeklyCompletion(character, otherRaid, weekStart);
+      entityManager.flush();
+
+      firstRaidGateId = raid.getGates().get(0).getId();
+      secondRaidGateId = raid.getGates().get(1).getId();
+      firstGateCompletionId = completion.getGateCompletions().get(0).getId();
+      secondGateCompletionId = completion.getGateCompletions().get(1).getId();
+      otherGateCompletionId = otherCompletion.getGateCompletions().get(0).getId();
+    });
+
+    // 레이드 카탈로그/로스터 스냅샷/대시보드는 최초 1회만 읽으므로 미리 적재
+    raidCatalog.refresh();
+    raidCatalog.getRaidCount();
+    rosterSnapshotHolder.refresh();
+    rosterSnapshotHolder.get();
+    userDashboardStore.clear();
+    userDashboardStore.get(userId);
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.update("DELETE FROM gate_completion_events");
+    jdbcTemplate.update("DELETE FROM character_week_summaries");
+    jdbcTemplate.update("DELETE FROM user_week_summaries");
+    jdbcTemplate.update("DELETE FROM gate_completions");
+    jdbcTemplate.update("DELETE FROM weekly_completions");
+    jdbcTemplate.update("DELETE FROM raid_gates");
+    jdbcTemplate.update("DELETE FROM raids");
+    jdbcTemplate.update("DELETE FROM characters");
+    jdbcTemplate.update("DELETE FROM users");
+  }
+
+  @Test
+  void completeGateStartingNewGroupBumpsAnchorVersion() {
+    String eTag = dataVersions.userETag(userId);
+    STATEMENTS.set(0);
+
+    weeklyCompletionService.completeGate(otherGateCompletionId, false);
+
+    // 조회 1 + UPDATE 2 + 기준 기록(1막) 버전 UPDATE 1 + 프로젝션 3
+    assertThat(STATEMENTS.get()).isEqualTo(7);
+    assertThat(userWeekGold()).isEqualTo(500);
+    assertThat(userDashboardStore.getCharacterGold(characterId)).isEqualTo(500);
+    assertThat(dataVersions.userETag(userId)).isNotEqualTo(eTag);
+  }
+
+  @Test
+  void completeGateInStartedGroupSkipsAnchorVersion() {
+    weeklyCompletionService.completeGate(otherGateCompletionId, false);
+    weeklyCompletionService.completeGate(firstGateCompletionId, false);
+    STATEMENTS.set(0);
+
+    weeklyCompletionService.completeGate(secondGateCompletionId, false);
+
+    // 그룹 구성이 그대로이므로 조회 1 + UPDATE 2 + 프로젝션 3
+    assertThat(STATEMENTS.get()).isEqualTo(6);
+    assertThat(userWeekGold()).isEqualTo(1500);
+  }
+
+  @Test
+  void uncompleteLastGateOfGroupBumpsAnchorVersion() {
+    weeklyCompletionService.completeGate(otherGateCompletionId, false);
+    STATEMENTS.set(0);
+
+    weeklyCompletionService.uncompleteGate(otherGateCompletionId);
+
+    assertThat(STATEMENTS.get()).isEqualTo(7);
+    assertThat(userWeekGold()).isZero();
+    assertThat(userDashboardStore.getCharacterGold(characterId)).isZero();
+  }
+
+  @Test
+  void uncompleteGateInStillStartedGroupSkipsAnchorVersion() {
+    weeklyCompletionService.completeGate(firstGateCompletionId, false);
+    weeklyCompletionService.completeGate(secondGateCompletionId, false);
+    STATEMENTS.set(0);
+
+    weeklyCompletionService.uncompleteGate(secondGateCompletionId);
+
+    assertThat(STATEMENTS.get()).isEqualTo(6);
+    assertThat(userWeekGold()).isEqualTo(500);
+  }
+
+  @Test
+  void completeGateForCharacterUsesOneSelect() {
+    weeklyCompletionService.completeGateForCharacter(characterId, firstRaidGateId, false);
+    STATEMENTS.set(0);
+
+    GateCompletion completed = weeklyCompletionService.completeGateForCharacter(characterId, secondRaidGateId, true);
+
+    assertThat(completed.getEarnedGold()).isEqualTo(400);
+    assertThat(STATEMENTS.get()).isEqualTo(6);
+    assertThat(userWeekGold()).isEqualTo(900);
+    assertThat(userDashboardStore.getCharacterGold(characterId)).isEqualTo(900);
+  }
+
+  private int userWeekGold() {
+    return jdbcTemplate.queryForObject(
+            "SELECT COALESCE(SUM(earned_gold), 0) FROM user_week_summaries WHERE user_id = ?", Integer.class, userId);
+  }
+
+  private Raid createRaid(String raidName, int orderIndex) {
+    Raid created = new Raid(raidName, "노말", 1600.0, orderIndex, 1000);
+    created.addGate(1, 500, 100);
+    created.addGate(2, 500, 100);
+    entityManager.persist(created);
+    return created;
+  }
+
+  private WeeklyCompletion createWeeklyCompletion(Character character, Raid target, LocalDateTime weekStart) {
+    WeeklyCompletion completion = new WeeklyCompletion();
+    completion.setCharacter(character);
+    completion.setRaid(target);
+    completion.setWeekStart(weekStart);
+    for (RaidGate gate : target.getGates()) {
+      completion.getGateCompletions().add(new GateCompletion(null, completion, gate, false, false, 0, 0L));
+    }
+    entityManager.persist(completion);
+    return completion;
+  }
+}